@@ -0,0 +1,64 @@
+#!/usr/bin/env bash
+#
+# Measures the time-to-first-served-token of the default and the fast-startup builds.
+# Requires curl and a running Kafka broker (see application.yml). Bean definitions of the fast-startup build are
+# resolved at build time with the default profile, so it always uses the Kafka transports: setting
+# SPRING_PROFILES_ACTIVE=in-memory would only switch the default jar and skew the comparison.
+#
+# The fast-startup build produces both the default executable jar (-exec classifier) and the thin jar with its AppCDS
+# archive. The archive is bound to the relative jar path it was recorded with, so the fast jar is launched from the
+# project directory, with -Xshare:on to fail loudly instead of silently ignoring a rejected archive.
+#
+# Usage:
+#   ./mvnw clean package -Pfast-startup
+#   scripts/startup-benchmark.sh [runs]
+#
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+RUNS=${1:-5}
+PORT=${PORT:-8080}
+DEFAULT_JAR=target/token-issuer-reactive-0.0.1-SNAPSHOT-exec.jar
+FAST_JAR=target/token-issuer-reactive-0.0.1-SNAPSHOT.jar
+
+# Throwaway HS256 secret of the benchmark runs.
+SECRET=$(mktemp)
+trap 'rm -f "$SECRET"' EXIT
+head -c 32 /dev/urandom | base64 > "$SECRET"
+
+now_ms() {
+  date +%s%3N
+}
+
+# Starts the application with the given command and prints the elapsed milliseconds until the first token is served.
+measure() {
+  local start pid elapsed
+  start=$(now_ms)
+  "$@" --server.port="$PORT" --JWT_SECRET_LOCATION="file:$SECRET" > /dev/null 2>&1 &
+  pid=$!
+  until curl --silent --fail --max-time 35 --request POST \
+      --url "http://localhost:$PORT/token" \
+      --header 'Content-Type: application/json' \
+      --data "{\"user\": \"bench-$start\", \"credential\": \"credential\"}" 2> /dev/null | grep -q '"token"'; do
+    sleep 0.01
+  done
+  elapsed=$(( $(now_ms) - start ))
+  kill "$pid"
+  wait "$pid" 2> /dev/null || true
+  echo "$elapsed"
+}
+
+run() {
+  local name=$1 total=0 elapsed
+  shift
+  for _ in $(seq "$RUNS"); do
+    elapsed=$(measure "$@")
+    total=$(( total + elapsed ))
+    echo "$name: ${elapsed}ms"
+  done
+  echo "$name: average $(( total / RUNS ))ms over $RUNS runs"
+}
+
+run default java -jar "$DEFAULT_JAR"
+run fast-startup java -Xshare:on -XX:SharedArchiveFile=target/token-issuer.jsa -Dspring.aot.enabled=true -jar "$FAST_JAR"
@@ -1,29 +1,55 @@
 package com.example.token.issuer;
 
+import com.example.token.issuer.model.TokenRequest;
+import com.example.token.issuer.model.TokenResponse;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.kafka.KafkaAutoConfiguration;
+import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.web.reactive.config.EnableWebFlux;
 
 /**
  * The main entry point for the Token Issuer application.
  * This class initializes and configures the Spring Boot application, excluding the Kafka auto-configuration.
  * It enables WebFlux for reactive web support.
+ * The DTOs are registered for reflection so they can be (de)serialized by Jackson in AOT and native builds.
  */
 @Slf4j
 @EnableWebFlux
 @SpringBootApplication(exclude = {
     KafkaAutoConfiguration.class
 })
+@RegisterReflectionForBinding({TokenRequest.class, TokenResponse.class})
 public class TokenIssuerApplication {
 
+  /**
+   * System property that makes the application exit right after the context is refreshed, without starting the
+   * message consumers. Used by the fast-startup build profile to record the AppCDS archive without a broker.
+   */
+  public static final String TRAINING_RUN = "token-issuer.training-run";
+
   /**
    * The main method to start the Token Issuer application.
    *
    * @param args The command-line arguments (if any).
    */
   public static void main(String[] args) {
-    SpringApplication.run(TokenIssuerApplication.class, args);
+    ConfigurableApplicationContext context = SpringApplication.run(TokenIssuerApplication.class, args);
+    if (isTrainingRun()) {
+      log.info("training run completed, exiting");
+      System.exit(SpringApplication.exit(context));
+    }
   }
-}
\ No newline at end of file
+
+  /**
+   * Checks if the application runs as a training run, recording the AppCDS archive.
+   *
+   * @return true during a training run, false otherwise.
+   */
+  public static boolean isTrainingRun() {
+    return Boolean.getBoolean(TRAINING_RUN);
+  }
+
+}
@@ -0,0 +1,46 @@
+package com.example.token.issuer.cache;
+
+/**
+ * Cache entry holding a JSON encoded token response and its expiration time.
+ */
+public final class CachedTokenResponse {
+
+  /**
+   * The JSON encoded TokenResponse.
+   */
+  private final byte[] payload;
+
+  /**
+   * The expiration time of the token, in epoch milliseconds.
+   */
+  private final long expiresAt;
+
+  /**
+   * Constructs a CachedTokenResponse with the encoded token response and its expiration time.
+   */
+  public CachedTokenResponse(final byte[] payload, final long expiresAt) {
+    this.payload = payload;
+    this.expiresAt = expiresAt;
+  }
+
+  /**
+   * Returns the JSON encoded token response. The returned array must not be modified.
+   *
+   * @return The JSON encoded TokenResponse.
+   */
+  public byte[] getPayload() {
+    return payload;
+  }
+
+  /**
+   * Checks if the token is expired at the given time, considering a graceful period.
+   *
+   * @param now            The current time, in epoch milliseconds.
+   * @param gracefulPeriod The additional time, in milliseconds, to consider the token as expired.
+   * @return true if the token is expired, false otherwise.
+   */
+  public boolean isExpired(final long now, final long gracefulPeriod) {
+    return expiresAt < now + gracefulPeriod;
+  }
+
+}
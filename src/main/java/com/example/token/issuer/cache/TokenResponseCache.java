@@ -0,0 +1,50 @@
+package com.example.token.issuer.cache;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache of issued token responses indexed by user.
+ * Entries are kept in their JSON encoded form, ready to be written to the HTTP responses without serialization,
+ * at the cost of a slightly larger entry than the TokenResponse object (see TokenResponseCacheBenchmark).
+ * Expired entries, considering a graceful period, are never returned.
+ */
+public class TokenResponseCache {
+
+  /**
+   * The additional time, in milliseconds, before expiration during which a cached token is no longer returned.
+   */
+  private static final long GRACEFUL_PERIOD = 30_000;
+
+  /**
+   * The cached entries indexed by user.
+   */
+  private final Map<String, CachedTokenResponse> entries = new ConcurrentHashMap<>();
+
+  /**
+   * Retrieves the cached token response of a user.
+   *
+   * @param user The user identifier.
+   * @return The CachedTokenResponse, or null if there is none or it is expired.
+   */
+  public CachedTokenResponse get(final String user) {
+    CachedTokenResponse cachedTokenResponse = entries.get(user);
+    if (Objects.isNull(cachedTokenResponse) || cachedTokenResponse.isExpired(System.currentTimeMillis(),
+        GRACEFUL_PERIOD)) {
+      return null;
+    }
+    return cachedTokenResponse;
+  }
+
+  /**
+   * Caches an encoded token response.
+   *
+   * @param tokenResponseCacheUpdate The cache update carrying the encoded TokenResponse.
+   */
+  public void put(final TokenResponseCacheUpdate tokenResponseCacheUpdate) {
+    entries.put(tokenResponseCacheUpdate.getUser(),
+        new CachedTokenResponse(tokenResponseCacheUpdate.getPayload(), tokenResponseCacheUpdate.getExpiresAt()));
+  }
+
+}
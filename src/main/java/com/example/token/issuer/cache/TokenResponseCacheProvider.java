@@ -1,9 +1,5 @@
 package com.example.token.issuer.cache;
 
-import com.example.token.issuer.model.TokenResponse;
-import java.util.Map;
-import java.util.Objects;
-import java.util.concurrent.ConcurrentHashMap;
 import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Bean;
@@ -13,7 +9,8 @@ import reactor.core.publisher.Sinks.Many;
 
 /**
  * Configuration class for providing a token response cache using a reactive stream.
- * This class defines a bean for creating and managing a token response cache backed by a ConcurrentHashMap.
+ * This class defines a bean for creating and managing a token response cache, kept updated by the cache-only
+ * stream of encoded token responses.
  * It also implements the DisposableBean interface to properly dispose of the reactive stream when needed.
  */
 
@@ -26,9 +23,9 @@ public class TokenResponseCacheProvider implements DisposableBean {
   public static final String TOKEN_RESPONSE_CACHE = "tokenResponseCache";
 
   /**
-   * The reactive stream of TokenResponse objects used to keep the cache updated.
+   * The reactive stream of encoded token responses used only to keep the cache updated.
    */
-  private final Many<TokenResponse> tokenResponseStream;
+  private final Many<TokenResponseCacheUpdate> tokenResponseCacheUpdateStream;
 
   /**
    * Disposable object for managing the stream subscription.
@@ -39,31 +36,21 @@ public class TokenResponseCacheProvider implements DisposableBean {
   /**
    * Constructs a TokenResponseCacheProvider with the specified token response stream.
    */
-  public TokenResponseCacheProvider(final Many<TokenResponse> tokenResponseStream) {
-    this.tokenResponseStream = tokenResponseStream;
+  public TokenResponseCacheProvider(final Many<TokenResponseCacheUpdate> tokenResponseCacheUpdateStream) {
+    this.tokenResponseCacheUpdateStream = tokenResponseCacheUpdateStream;
   }
 
   /**
-   * Creates and configures a token response cache using a ConcurrentHashMap.
-   * The cache is backed by the reactive stream and automatically updates itself with new TokenResponse objects.
+   * Creates and configures a token response cache.
+   * The cache is backed by the reactive stream and automatically updates itself with new token responses.
    *
-   * @return A ConcurrentHashMap serving as the token response cache.
+   * @return A TokenResponseCache serving as the token response cache.
    */
   @Bean
   @Qualifier(TOKEN_RESPONSE_CACHE)
-  public Map<String, TokenResponse> tokenResponseCache() {
-    Map<String, TokenResponse> cache = new ConcurrentHashMap<>() {
-      @Override
-      public TokenResponse get(Object key) {
-        TokenResponse tokenResponse = super.get(key);
-        if (Objects.isNull(tokenResponse) || tokenResponse.isExpired(30)) {
-          return null;
-        }
-        return tokenResponse;
-      }
-    };
-    streamDisposable = tokenResponseStream.asFlux()
-        .subscribe(tokenResponse -> cache.put(tokenResponse.getUser(), tokenResponse));
+  public TokenResponseCache tokenResponseCache() {
+    TokenResponseCache cache = new TokenResponseCache();
+    streamDisposable = tokenResponseCacheUpdateStream.asFlux().subscribe(cache::put);
     return cache;
   }
 
@@ -74,4 +61,4 @@ public class TokenResponseCacheProvider implements DisposableBean {
     }
   }
 
-}
\ No newline at end of file
+}
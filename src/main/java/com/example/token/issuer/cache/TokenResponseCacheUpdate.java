@@ -0,0 +1,27 @@
+package com.example.token.issuer.cache;
+
+import lombok.Value;
+
+/**
+ * Data class representing a cache-only update carrying an encoded token response.
+ * The JSON payload is cached as is, and written as is to the HTTP responses, so it is never decoded to be cached.
+ */
+@Value
+public class TokenResponseCacheUpdate {
+
+  /**
+   * User identifier for whom the token was issued.
+   */
+  String user;
+
+  /**
+   * The JSON encoded TokenResponse.
+   */
+  byte[] payload;
+
+  /**
+   * The expiration time of the token, in epoch milliseconds.
+   */
+  long expiresAt;
+
+}
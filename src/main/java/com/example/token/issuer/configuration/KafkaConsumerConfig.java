@@ -1,45 +1,56 @@
 package com.example.token.issuer.configuration;
 
+import com.example.token.issuer.messaging.transport.InMemoryTokenRequestTransport;
 import java.util.Collections;
 import java.util.Map;
 import java.util.UUID;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
 import org.springframework.kafka.core.reactive.ReactiveKafkaConsumerTemplate;
 import reactor.kafka.receiver.ReceiverOptions;
 
 /**
  * Configuration class for setting up Kafka consumers using Spring Kafka and Reactor Kafka.
  * This class defines beans for configuring Kafka consumer options and templates for token request and response topics.
+ * It is active unless the in-memory transports are.
  */
 
 @Slf4j
 @Configuration
+@Profile("!" + InMemoryTokenRequestTransport.PROFILE)
 @EnableConfigurationProperties({KafkaProperties.class})
 public class KafkaConsumerConfig {
 
   /**
    * Configures Kafka consumer options for token request messages.
+   * A poll returns no more records than the concurrency limiter may have in flight, and as the records complete out
+   * of order, their commits are deferred until the preceding ones are acknowledged.
    *
    * @param topic          The Kafka topic for token requests.
+   * @param maxLimit       The maximum limit of in-flight token issuances.
    * @param kafkaProperties The Kafka consumer properties.
    * @return ReceiverOptions for token request messages.
    */
   @Bean
   public ReceiverOptions<String, String> tokenRequestReceiverOptions(
       final @Value(value = "${REQUEST_TOPIC}") String topic,
+      final @Value(value = "${LIMITER_MAX_LIMIT}") int maxLimit,
       final KafkaProperties kafkaProperties) {
 
     Map<String, Object> consumerProperties = kafkaProperties.buildConsumerProperties();
+    consumerProperties.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, maxLimit);
 
     ReceiverOptions<String, String> basicReceiverOptions = ReceiverOptions.create(consumerProperties);
 
     return basicReceiverOptions.subscription(Collections.singletonList(topic))
+        .maxDeferredCommits(maxLimit)
         .addAssignListener(partitions -> log.info("onPartitionsAssigned {}", partitions))
         .addRevokeListener(partitions -> log.info("onPartitionsRevoked {}", partitions));
   }
@@ -58,13 +69,14 @@ public class KafkaConsumerConfig {
 
   /**
    * Configures Kafka consumer options for token response messages.
+   * Token responses are received as raw JSON bytes, so that they can be cached without being decoded.
    *
    * @param topic          The Kafka topic for token responses.
    * @param kafkaProperties The Kafka consumer properties.
    * @return ReceiverOptions for token response messages.
    */
   @Bean
-  public ReceiverOptions<String, String> tokenResponseReceiverOptions(
+  public ReceiverOptions<String, byte[]> tokenResponseReceiverOptions(
       final @Value(value = "${RESPONSE_TOPIC}") String topic,
       final KafkaProperties kafkaProperties) {
 
@@ -74,8 +86,9 @@ public class KafkaConsumerConfig {
     // This is essential to build a cache within each service replica.
     String consumerGroup = "anonymous." + UUID.randomUUID();
     consumerProperties.put(ConsumerConfig.GROUP_ID_CONFIG, consumerGroup);
+    consumerProperties.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
 
-    ReceiverOptions<String, String> basicReceiverOptions = ReceiverOptions.create(consumerProperties);
+    ReceiverOptions<String, byte[]> basicReceiverOptions = ReceiverOptions.create(consumerProperties);
 
     return basicReceiverOptions.subscription(Collections.singletonList(topic))
         .addAssignListener(partitions -> log.info("onPartitionsAssigned {}", partitions))
@@ -89,8 +102,8 @@ public class KafkaConsumerConfig {
    * @return A ReactiveKafkaConsumerTemplate for token response messages.
    */
   @Bean
-  public ReactiveKafkaConsumerTemplate<String, String> tokenResponseReactiveKafkaConsumerTemplate(
-      final ReceiverOptions<String, String> tokenResponseReceiverOptions) {
+  public ReactiveKafkaConsumerTemplate<String, byte[]> tokenResponseReactiveKafkaConsumerTemplate(
+      final ReceiverOptions<String, byte[]> tokenResponseReceiverOptions) {
     return new ReactiveKafkaConsumerTemplate<>(tokenResponseReceiverOptions);
   }
 
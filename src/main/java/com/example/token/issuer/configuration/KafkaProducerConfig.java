@@ -1,22 +1,27 @@
 package com.example.token.issuer.configuration;
 
+import com.example.token.issuer.messaging.transport.InMemoryTokenRequestTransport;
 import com.example.token.issuer.model.TokenRequest;
-import com.example.token.issuer.model.TokenResponse;
+import com.example.token.issuer.scheduler.SchedulerRegistry;
+import java.util.Map;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
 import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
 import org.springframework.kafka.core.reactive.ReactiveKafkaProducerTemplate;
-import reactor.core.scheduler.Scheduler;
-import reactor.core.scheduler.Schedulers;
 import reactor.kafka.sender.SenderOptions;
 
 /**
  * Configuration class for setting up Kafka producers using Spring Kafka and Reactor Kafka.
  * This class defines beans for configuring Kafka producer options and templates for token request and response topics.
+ * It is active unless the in-memory transports are.
  */
 
 @Configuration
+@Profile("!" + InMemoryTokenRequestTransport.PROFILE)
 @EnableConfigurationProperties({KafkaProperties.class})
 public class KafkaProducerConfig {
 
@@ -45,15 +50,20 @@ public class KafkaProducerConfig {
 
   /**
    * Configures Kafka producer options for token response messages.
+   * Token responses are sent already JSON encoded, so that they can be cached and served as is.
    *
-   * @param kafkaProperties Kafka producer properties.
+   * @param kafkaProperties   Kafka producer properties.
+   * @param schedulerRegistry Registry providing the producer scheduler.
    * @return SenderOptions for token response messages.
    */
   @Bean
-  public SenderOptions<String, TokenResponse> tokenResponseProducerProperties(final KafkaProperties kafkaProperties) {
-    Scheduler scheduler = Schedulers.newParallel("producer", 10);
-    SenderOptions<String, TokenResponse> senderOptions = SenderOptions.create(kafkaProperties.buildProducerProperties());
-    senderOptions = senderOptions.scheduler(scheduler);
+  public SenderOptions<String, byte[]> tokenResponseProducerProperties(
+      final KafkaProperties kafkaProperties,
+      final SchedulerRegistry schedulerRegistry) {
+    Map<String, Object> producerProperties = kafkaProperties.buildProducerProperties();
+    producerProperties.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
+    SenderOptions<String, byte[]> senderOptions = SenderOptions.create(producerProperties);
+    senderOptions = senderOptions.scheduler(schedulerRegistry.producer());
     return senderOptions;
   }
 
@@ -64,8 +74,8 @@ public class KafkaProducerConfig {
    * @return A ReactiveKafkaProducerTemplate for token response messages.
    */
   @Bean
-  public ReactiveKafkaProducerTemplate<String, TokenResponse> tokenResponseReactiveKafkaProducerTemplate(
-      final SenderOptions<String, TokenResponse> tokenResponseProducerProperties) {
+  public ReactiveKafkaProducerTemplate<String, byte[]> tokenResponseReactiveKafkaProducerTemplate(
+      final SenderOptions<String, byte[]> tokenResponseProducerProperties) {
     return new ReactiveKafkaProducerTemplate<>(tokenResponseProducerProperties);
   }
 
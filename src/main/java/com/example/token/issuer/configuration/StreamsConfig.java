@@ -1,6 +1,6 @@
 package com.example.token.issuer.configuration;
 
-import com.example.token.issuer.model.TokenResponse;
+import com.example.token.issuer.cache.TokenResponseCacheUpdate;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import reactor.core.publisher.Sinks;
@@ -8,21 +8,21 @@ import reactor.core.publisher.Sinks.Many;
 
 /**
  * Configuration class for creating and managing reactive streams used within the token issuer application.
- * This class defines a bean for creating a reactive Sinks.Many stream for TokenResponse objects.
+ * This class defines the reactive Sinks.Many stream of the cache updates.
  */
 
 @Configuration
 public class StreamsConfig {
 
   /**
-   * Creates a reactive Sinks.Many stream for TokenResponse objects. This stream allows multiple subscribers to receive
-   * and process TokenResponse data.
+   * Creates a reactive Sinks.Many stream for the encoded token responses.
+   * These updates are only used to populate the cache, so they are not replayed to late subscribers.
    *
-   * @return A Sinks.Many stream for TokenResponse objects.
+   * @return A Sinks.Many stream for TokenResponseCacheUpdate objects.
    */
   @Bean
-  public Many<TokenResponse> tokenResponseStream() {
-    return Sinks.many().replay().latestOrDefault(TokenResponse.DEFAULT);
+  public Many<TokenResponseCacheUpdate> tokenResponseCacheUpdateStream() {
+    return Sinks.many().multicast().directBestEffort();
   }
 
 }
\ No newline at end of file
@@ -0,0 +1,33 @@
+package com.example.token.issuer.controller;
+
+import com.example.token.issuer.jwt.JwtIssuer;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controller class publishing the JSON Web Key Set (RFC 7517) verifying the issued tokens.
+ * The set holds the current key and the one it replaced, so tokens signed before a rotation still verify.
+ */
+
+@RequiredArgsConstructor
+@RestController
+public class JwksController {
+
+  private final JwtIssuer jwtIssuer;
+
+  /**
+   * Handles HTTP GET requests to the "/.well-known/jwks.json" endpoint.
+   * The set is empty for HMAC algorithms, whose keys are secret.
+   *
+   * @return The JSON Web Key Set.
+   */
+  @GetMapping(value = "/.well-known/jwks.json", produces = MediaType.APPLICATION_JSON_VALUE)
+  public Map<String, List<Map<String, Object>>> getKeys() {
+    return Map.of("keys", jwtIssuer.getPublishedKeys());
+  }
+
+}
@@ -1,10 +1,12 @@
 package com.example.token.issuer.controller;
 
 import com.example.token.issuer.model.TokenRequest;
-import com.example.token.issuer.model.TokenResponse;
 import com.example.token.issuer.service.TokenIssuerService;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RestController;
@@ -13,7 +15,7 @@ import reactor.core.publisher.Mono;
 /**
  * Controller class responsible for handling HTTP requests related to token issuance.
  * This class defines an endpoint for receiving token request data, processing it through the TokenIssuerService,
- * and returning the resulting TokenResponse in a reactive Mono.
+ * and returning the resulting JSON encoded TokenResponse in a reactive Mono.
  */
 
 @RequiredArgsConstructor
@@ -26,14 +28,18 @@ public class TokenIssuerController {
    * Handles HTTP POST requests to the "/token" endpoint for token issuance.
    * Receives a TokenRequest, assigns a unique correlation ID to it, processes the request through
    * the TokenIssuerService, and returns the resulting TokenResponse in a reactive Mono.
+   * The JSON encoded TokenResponse is wrapped, without copy, in a buffer written as is to the response, whose
+   * content type is set to JSON whatever the Accept header.
    *
    * @param tokenRequest The incoming TokenRequest object.
-   * @return A Mono containing the TokenResponse generated by the service.
+   * @param response     The HTTP response, providing the buffer factory.
+   * @return A Mono containing the JSON encoded TokenResponse generated by the service.
    */
-  @PostMapping("/token")
-  public Mono<TokenResponse> getToken(@RequestBody TokenRequest tokenRequest) {
+  @PostMapping(value = "/token")
+  public Mono<DataBuffer> getToken(@RequestBody TokenRequest tokenRequest, ServerHttpResponse response) {
+    response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
     tokenRequest.setCorrelationId(UUID.randomUUID());
-    return tokenIssuerService.process(tokenRequest);
+    return tokenIssuerService.process(tokenRequest).map(response.bufferFactory()::wrap);
   }
 
 }
\ No newline at end of file
@@ -0,0 +1,22 @@
+package com.example.token.issuer.jwt;
+
+import java.time.Instant;
+import lombok.Value;
+
+/**
+ * Data class representing a signed token along with its expiration time.
+ */
+@Value
+public class IssuedToken {
+
+  /**
+   * The signed and encoded token.
+   */
+  String token;
+
+  /**
+   * The expiration time of the token, as stated in its claims.
+   */
+  Instant expiresAt;
+
+}
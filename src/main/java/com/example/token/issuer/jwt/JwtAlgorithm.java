@@ -0,0 +1,51 @@
+package com.example.token.issuer.jwt;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Enumeration of the supported JWS signing algorithms, mapped to their JCA names.
+ * ECDSA signatures are produced in the IEEE P1363 format required by JWS, avoiding a DER transcoding step.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum JwtAlgorithm {
+
+  HS256("HmacSHA256", Family.HMAC, 256, null),
+  HS384("HmacSHA384", Family.HMAC, 384, null),
+  HS512("HmacSHA512", Family.HMAC, 512, null),
+  RS256("SHA256withRSA", Family.RSA, 2048, null),
+  RS384("SHA384withRSA", Family.RSA, 2048, null),
+  RS512("SHA512withRSA", Family.RSA, 2048, null),
+  ES256("SHA256withECDSAinP1363Format", Family.EC, 256, "secp256r1"),
+  ES384("SHA384withECDSAinP1363Format", Family.EC, 384, "secp384r1"),
+  ES512("SHA512withECDSAinP1363Format", Family.EC, 521, "secp521r1");
+
+  /**
+   * The JCA name of the Mac or Signature algorithm.
+   */
+  private final String jcaName;
+
+  /**
+   * The family of the algorithm, which defines the kind of key it requires.
+   */
+  private final Family family;
+
+  /**
+   * The size, in bits, of the keys generated for this algorithm.
+   */
+  private final int keySize;
+
+  /**
+   * The name of the elliptic curve, for EC algorithms only.
+   */
+  private final String curve;
+
+  /**
+   * Families of signing algorithms.
+   */
+  public enum Family {
+    HMAC, RSA, EC
+  }
+
+}
@@ -0,0 +1,166 @@
+package com.example.token.issuer.jwt;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Growable byte buffer used to encode JWTs without intermediate strings.
+ * It is meant to be reset and reused by a single thread.
+ */
+final class JwtBuffer {
+
+  private static final byte[] BASE64_URL =
+      "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_".getBytes(StandardCharsets.US_ASCII);
+
+  private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+  private byte[] bytes;
+
+  private int size;
+
+  JwtBuffer(final int initialCapacity) {
+    this.bytes = new byte[initialCapacity];
+  }
+
+  void reset() {
+    size = 0;
+  }
+
+  byte[] array() {
+    return bytes;
+  }
+
+  int size() {
+    return size;
+  }
+
+  byte[] toByteArray() {
+    return Arrays.copyOf(bytes, size);
+  }
+
+  /**
+   * Returns the buffer content as a string, assuming it holds only ASCII characters.
+   */
+  String toAsciiString() {
+    return new String(bytes, 0, size, StandardCharsets.ISO_8859_1);
+  }
+
+  void write(final int b) {
+    ensureCapacity(1);
+    bytes[size++] = (byte) b;
+  }
+
+  void write(final byte[] src) {
+    write(src, 0, src.length);
+  }
+
+  void write(final byte[] src, final int offset, final int length) {
+    ensureCapacity(length);
+    System.arraycopy(src, offset, bytes, size, length);
+    size += length;
+  }
+
+  void writeAscii(final String value) {
+    int length = value.length();
+    ensureCapacity(length);
+    for (int i = 0; i < length; i++) {
+      bytes[size++] = (byte) value.charAt(i);
+    }
+  }
+
+  void writeLong(final long value) {
+    if (value < 0) {
+      write('-');
+      if (value == Long.MIN_VALUE) {
+        writeAscii("9223372036854775808");
+        return;
+      }
+      writeLong(-value);
+      return;
+    }
+    int digits = 1;
+    for (long v = value; v >= 10; v /= 10) {
+      digits++;
+    }
+    ensureCapacity(digits);
+    long v = value;
+    for (int i = size + digits - 1; i >= size; i--) {
+      bytes[i] = (byte) ('0' + v % 10);
+      v /= 10;
+    }
+    size += digits;
+  }
+
+  /**
+   * Writes a JSON string literal, quoted, escaped and UTF-8 encoded.
+   */
+  void writeJsonString(final String value) {
+    int length = value.length();
+    ensureCapacity(length + 2);
+    bytes[size++] = '"';
+    for (int i = 0; i < length; i++) {
+      char c = value.charAt(i);
+      if (c == '"' || c == '\\') {
+        write('\\');
+        write(c);
+      } else if (c < 0x20) {
+        write('\\');
+        write('u');
+        write('0');
+        write('0');
+        write(HEX[c >> 4]);
+        write(HEX[c & 0xF]);
+      } else if (c < 0x80) {
+        write(c);
+      } else if (c < 0x800) {
+        write(0xC0 | (c >> 6));
+        write(0x80 | (c & 0x3F));
+      } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+        int codePoint = Character.toCodePoint(c, value.charAt(++i));
+        write(0xF0 | (codePoint >> 18));
+        write(0x80 | ((codePoint >> 12) & 0x3F));
+        write(0x80 | ((codePoint >> 6) & 0x3F));
+        write(0x80 | (codePoint & 0x3F));
+      } else if (Character.isSurrogate(c)) {
+        write('?');
+      } else {
+        write(0xE0 | (c >> 12));
+        write(0x80 | ((c >> 6) & 0x3F));
+        write(0x80 | (c & 0x3F));
+      }
+    }
+    write('"');
+  }
+
+  /**
+   * Writes the base64url encoding, without padding, of a range of bytes.
+   */
+  void writeBase64Url(final byte[] src, final int offset, final int length) {
+    ensureCapacity((length + 2) / 3 * 4);
+    int end = offset + length;
+    int i = offset;
+    for (; i + 2 < end; i += 3) {
+      int v = (src[i] & 0xFF) << 16 | (src[i + 1] & 0xFF) << 8 | (src[i + 2] & 0xFF);
+      bytes[size++] = BASE64_URL[v >>> 18];
+      bytes[size++] = BASE64_URL[(v >>> 12) & 0x3F];
+      bytes[size++] = BASE64_URL[(v >>> 6) & 0x3F];
+      bytes[size++] = BASE64_URL[v & 0x3F];
+    }
+    int remaining = end - i;
+    if (remaining > 0) {
+      int v = (src[i] & 0xFF) << 16 | (remaining == 2 ? (src[i + 1] & 0xFF) << 8 : 0);
+      bytes[size++] = BASE64_URL[v >>> 18];
+      bytes[size++] = BASE64_URL[(v >>> 12) & 0x3F];
+      if (remaining == 2) {
+        bytes[size++] = BASE64_URL[(v >>> 6) & 0x3F];
+      }
+    }
+  }
+
+  private void ensureCapacity(final int additional) {
+    if (size + additional > bytes.length) {
+      bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + additional));
+    }
+  }
+
+}
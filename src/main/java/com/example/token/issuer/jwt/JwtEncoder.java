@@ -0,0 +1,121 @@
+package com.example.token.issuer.jwt;
+
+import java.security.GeneralSecurityException;
+import java.security.PrivateKey;
+import java.security.Signature;
+import java.security.interfaces.RSAKey;
+import java.util.Objects;
+import java.util.UUID;
+import javax.crypto.Mac;
+
+/**
+ * Thread-confined JWT encoder.
+ * It reuses its buffers and its Mac or Signature instance across tokens, and lazily re-initializes them when the
+ * signing key is rotated, so signing never waits on other threads.
+ */
+final class JwtEncoder {
+
+  private final JwtBuffer claims = new JwtBuffer(256);
+
+  private final JwtBuffer token = new JwtBuffer(1024);
+
+  private byte[] signatureBytes = new byte[512];
+
+  private SigningKey signingKey;
+
+  private Mac mac;
+
+  private Signature signature;
+
+  /**
+   * Encodes and signs a JWT with the given claims.
+   *
+   * @param signingKey The key to sign the token with.
+   * @param issuer     The "iss" claim.
+   * @param subject    The "sub" claim.
+   * @param issuedAt   The "iat" claim, in epoch seconds.
+   * @param expiresAt  The "exp" claim, in epoch seconds.
+   * @param jwtId      The "jti" claim, omitted if null.
+   * @return The signed and encoded JWT.
+   */
+  String encode(final SigningKey signingKey, final String issuer, final String subject, final long issuedAt,
+      final long expiresAt, final UUID jwtId) {
+    init(signingKey);
+
+    claims.reset();
+    claims.writeAscii("{\"iss\":");
+    claims.writeJsonString(issuer);
+    claims.writeAscii(",\"sub\":");
+    claims.writeJsonString(subject);
+    claims.writeAscii(",\"iat\":");
+    claims.writeLong(issuedAt);
+    claims.writeAscii(",\"exp\":");
+    claims.writeLong(expiresAt);
+    if (Objects.nonNull(jwtId)) {
+      claims.writeAscii(",\"jti\":\"");
+      claims.writeAscii(jwtId.toString());
+      claims.write('"');
+    }
+    claims.write('}');
+
+    token.reset();
+    token.write(signingKey.getEncodedHeader());
+    token.write('.');
+    token.writeBase64Url(claims.array(), 0, claims.size());
+    int signatureLength = sign(token.array(), token.size());
+    token.write('.');
+    token.writeBase64Url(signatureBytes, 0, signatureLength);
+    return token.toAsciiString();
+  }
+
+  private int sign(final byte[] signingInput, final int length) {
+    try {
+      if (Objects.nonNull(mac)) {
+        mac.update(signingInput, 0, length);
+        mac.doFinal(signatureBytes, 0);
+        return mac.getMacLength();
+      }
+      signature.update(signingInput, 0, length);
+      return signature.sign(signatureBytes, 0, signatureBytes.length);
+    } catch (GeneralSecurityException e) {
+      // Forces a re-initialization, the Mac or Signature may be left in an inconsistent state.
+      this.signingKey = null;
+      throw new RuntimeException(e);
+    }
+  }
+
+  private void init(final SigningKey signingKey) {
+    if (this.signingKey == signingKey) {
+      return;
+    }
+    JwtAlgorithm algorithm = signingKey.getAlgorithm();
+    boolean sameAlgorithm = Objects.nonNull(this.signingKey) && this.signingKey.getAlgorithm() == algorithm;
+    try {
+      if (algorithm.getFamily() == JwtAlgorithm.Family.HMAC) {
+        if (!sameAlgorithm) {
+          mac = Mac.getInstance(algorithm.getJcaName());
+          signature = null;
+        }
+        mac.init(signingKey.getKey());
+        signatureBytes = ensureLength(signatureBytes, mac.getMacLength());
+      } else {
+        if (!sameAlgorithm) {
+          signature = Signature.getInstance(algorithm.getJcaName());
+          mac = null;
+        }
+        signature.initSign((PrivateKey) signingKey.getKey());
+        if (signingKey.getKey() instanceof RSAKey rsaKey) {
+          signatureBytes = ensureLength(signatureBytes, (rsaKey.getModulus().bitLength() + 7) / 8);
+        }
+      }
+    } catch (GeneralSecurityException e) {
+      throw new RuntimeException(e);
+    }
+    this.signingKey = signingKey;
+  }
+
+  private static byte[] ensureLength(final byte[] bytes, final int length) {
+    return bytes.length >= length ? bytes : new byte[length];
+  }
+
+}
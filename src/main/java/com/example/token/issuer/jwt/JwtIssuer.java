@@ -0,0 +1,141 @@
+package com.example.token.issuer.jwt;
+
+import com.example.token.issuer.model.TokenRequest;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Component responsible for issuing signed JWTs.
+ * Each thread signs with its own encoder, reusing its buffers and its Mac or Signature instance.
+ * The signing key can be rotated at any time: it is reloaded, swapped atomically and each encoder picks it up on its
+ * next token.
+ */
+@Slf4j
+@Component
+public class JwtIssuer {
+
+  /**
+   * The "iss" claim of the issued tokens.
+   */
+  private final String issuer;
+
+  /**
+   * The lifetime of the issued tokens.
+   */
+  private final Duration lifetime;
+
+  /**
+   * The source of the signing keys, read at startup and on each rotation.
+   */
+  private final Supplier<SigningKey> signingKeySource;
+
+  /**
+   * The current signing key and the one it replaced, still published to verify the tokens it signed.
+   */
+  private final AtomicReference<SigningKeys> signingKeys;
+
+  /**
+   * The thread-confined encoders.
+   */
+  private final ThreadLocal<JwtEncoder> encoders = ThreadLocal.withInitial(JwtEncoder::new);
+
+  /**
+   * Constructs a JwtIssuer with the configured issuer and lifetime, signing with the configured key.
+   */
+  @Autowired
+  public JwtIssuer(
+      @Value(value = "${JWT_ISSUER}") final String issuer,
+      @Value(value = "${JWT_LIFETIME}") final Duration lifetime,
+      final SigningKeyLoader signingKeyLoader) {
+    this(issuer, lifetime, (Supplier<SigningKey>) signingKeyLoader::load);
+  }
+
+  /**
+   * Constructs a JwtIssuer with the given issuer and lifetime, signing with the keys of the given source.
+   * The source is read immediately, so a missing or invalid key fails the construction.
+   */
+  public JwtIssuer(final String issuer, final Duration lifetime, final Supplier<SigningKey> signingKeySource) {
+    this.issuer = issuer;
+    this.lifetime = lifetime;
+    this.signingKeySource = signingKeySource;
+    this.signingKeys = new AtomicReference<>(new SigningKeys(signingKeySource.get(), null));
+    log.info("signing with {}", getSigningKey());
+  }
+
+  /**
+   * Issues a signed JWT for the user of a token request, identified by the request correlation ID.
+   *
+   * @param tokenRequest The TokenRequest to issue a token for.
+   * @return The IssuedToken, with its expiration time.
+   */
+  public IssuedToken issue(final TokenRequest tokenRequest) {
+    long issuedAt = Instant.now().getEpochSecond();
+    Instant expiresAt = Instant.ofEpochSecond(issuedAt).plus(lifetime);
+    String token = encoders.get().encode(getSigningKey(), issuer, tokenRequest.getUser(), issuedAt,
+        expiresAt.getEpochSecond(), tokenRequest.getCorrelationId());
+    return new IssuedToken(token, expiresAt);
+  }
+
+  /**
+   * Rotates the signing key, reloading it from the key source. Tokens being signed concurrently complete with the
+   * previous key, which stays published until the next rotation.
+   * Nothing changes if the reloaded key is the current one, so that repeated reloads never unpublish the previous key.
+   *
+   * @return The current SigningKey, after the rotation.
+   */
+  public SigningKey rotate() {
+    SigningKey newSigningKey = signingKeySource.get();
+    SigningKeys previous = signingKeys.getAndUpdate(keys -> isCurrent(keys, newSigningKey)
+        ? keys
+        : new SigningKeys(newSigningKey, keys.current()));
+    if (isCurrent(previous, newSigningKey)) {
+      log.info("signing key {} unchanged, not rotated", previous.current());
+      return previous.current();
+    }
+    log.info("rotated signing key from {} to {}", previous.current(), newSigningKey);
+    return newSigningKey;
+  }
+
+  /**
+   * Returns the current signing key.
+   *
+   * @return The current SigningKey.
+   */
+  public SigningKey getSigningKey() {
+    return signingKeys.get().current();
+  }
+
+  /**
+   * Returns the public JSON Web Keys verifying the tokens signed with the current and previous keys.
+   * The list is empty for HMAC algorithms, whose keys are secret.
+   *
+   * @return The public JWKs, current key first.
+   */
+  public List<Map<String, Object>> getPublishedKeys() {
+    SigningKeys keys = signingKeys.get();
+    return Stream.of(keys.current(), keys.previous())
+        .filter(Objects::nonNull)
+        .map(SigningKey::toJwk)
+        .filter(Objects::nonNull)
+        .distinct()
+        .toList();
+  }
+
+  private static boolean isCurrent(final SigningKeys keys, final SigningKey signingKey) {
+    return keys.current().getKeyId().equals(signingKey.getKeyId());
+  }
+
+  private record SigningKeys(SigningKey current, SigningKey previous) {
+  }
+
+}
@@ -0,0 +1,46 @@
+package com.example.token.issuer.jwt;
+
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.jmx.annotation.JmxEndpoint;
+import org.springframework.stereotype.Component;
+
+/**
+ * Actuator endpoint exposing the published signing keys and rotating the signing key.
+ * Its rotate operation reloads the key from the configured resources, so a key replaced on disk is rotated without a
+ * restart. It is a JMX-only endpoint: it is never served over HTTP, where it would let anyone rotate the key.
+ */
+@RequiredArgsConstructor
+@Component
+@JmxEndpoint(id = "jwtkeys")
+public class JwtKeysEndpoint {
+
+  private final JwtIssuer jwtIssuer;
+
+  /**
+   * Returns the current signing key and the published public keys.
+   *
+   * @return The key ID and algorithm of the current key, with the public JWKs.
+   */
+  @ReadOperation
+  public Map<String, Object> keys() {
+    SigningKey signingKey = jwtIssuer.getSigningKey();
+    return Map.of(
+        "kid", signingKey.getKeyId(),
+        "alg", signingKey.getAlgorithm().name(),
+        "keys", jwtIssuer.getPublishedKeys());
+  }
+
+  /**
+   * Rotates the signing key, reloading it from the configured resources, unless it is unchanged.
+   *
+   * @return The key ID of the current signing key.
+   */
+  @WriteOperation
+  public Map<String, Object> rotate() {
+    return Map.of("kid", jwtIssuer.rotate().getKeyId());
+  }
+
+}
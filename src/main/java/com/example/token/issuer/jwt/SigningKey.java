@@ -0,0 +1,236 @@
+package com.example.token.issuer.jwt;
+
+import com.example.token.issuer.jwt.JwtAlgorithm.Family;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.MessageDigest;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.SecureRandom;
+import java.security.Signature;
+import java.security.interfaces.ECPrivateKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import javax.crypto.spec.SecretKeySpec;
+import lombok.Getter;
+
+/**
+ * Immutable signing key identified by a key ID derived from the key itself, so that replicas sharing a key agree on
+ * its ID. The JWT header depends only on the algorithm and the key ID, so it is serialized and base64url encoded once,
+ * when the key is created, and reused for every token signed with it.
+ */
+@Getter
+public final class SigningKey {
+
+  /**
+   * The minimum size, in bits, of RSA keys (RFC 7518, section 3.3).
+   */
+  private static final int MIN_RSA_KEY_SIZE = 2048;
+
+  /**
+   * The ID of the key, published in the "kid" header parameter.
+   */
+  private final String keyId;
+
+  /**
+   * The signing algorithm.
+   */
+  private final JwtAlgorithm algorithm;
+
+  /**
+   * The secret key for HMAC algorithms, or the private key otherwise.
+   */
+  private final Key key;
+
+  /**
+   * The public key to verify the signatures, or null for HMAC algorithms.
+   */
+  private final PublicKey publicKey;
+
+  /**
+   * The base64url encoded JWT header.
+   */
+  private final byte[] encodedHeader;
+
+  private SigningKey(final JwtAlgorithm algorithm, final Key key, final PublicKey publicKey) {
+    this.algorithm = algorithm;
+    this.key = key;
+    this.publicKey = publicKey;
+    this.keyId = keyId(Objects.nonNull(publicKey) ? publicKey.getEncoded() : key.getEncoded());
+
+    JwtBuffer header = new JwtBuffer(64);
+    header.writeAscii("{\"alg\":\"");
+    header.writeAscii(algorithm.name());
+    header.writeAscii("\",\"typ\":\"JWT\",\"kid\":");
+    header.writeJsonString(keyId);
+    header.write('}');
+    this.encodedHeader = Base64.getUrlEncoder().withoutPadding().encode(header.toByteArray());
+  }
+
+  /**
+   * Creates a signing key for an HMAC algorithm from a shared secret.
+   *
+   * @param algorithm The HMAC algorithm.
+   * @param secret    The shared secret, at least as long as the hash output (RFC 7518, section 3.2).
+   * @return A SigningKey for the given secret.
+   */
+  public static SigningKey hmac(final JwtAlgorithm algorithm, final byte[] secret) {
+    if (algorithm.getFamily() != Family.HMAC) {
+      throw new IllegalArgumentException(algorithm + " is not an HMAC algorithm");
+    }
+    if (secret.length * 8 < algorithm.getKeySize()) {
+      throw new IllegalArgumentException(algorithm + " requires a secret of at least " + algorithm.getKeySize()
+          + " bits, got " + secret.length * 8);
+    }
+    return new SigningKey(algorithm, new SecretKeySpec(secret, algorithm.getJcaName()), null);
+  }
+
+  /**
+   * Creates a signing key for an RSA or EC algorithm from a key pair.
+   * The keys must match the algorithm, and the private key must match the public key.
+   *
+   * @param algorithm The RSA or EC algorithm.
+   * @param keyPair   The key pair.
+   * @return A SigningKey for the given key pair.
+   */
+  public static SigningKey keyPair(final JwtAlgorithm algorithm, final KeyPair keyPair) {
+    PrivateKey privateKey = keyPair.getPrivate();
+    PublicKey publicKey = keyPair.getPublic();
+    switch (algorithm.getFamily()) {
+      case RSA -> {
+        if (!(privateKey instanceof RSAPrivateKey rsaPrivateKey) || !(publicKey instanceof RSAPublicKey)) {
+          throw new IllegalArgumentException(algorithm + " requires an RSA key pair");
+        }
+        if (rsaPrivateKey.getModulus().bitLength() < MIN_RSA_KEY_SIZE) {
+          throw new IllegalArgumentException(algorithm + " requires a key of at least " + MIN_RSA_KEY_SIZE
+              + " bits, got " + rsaPrivateKey.getModulus().bitLength());
+        }
+      }
+      case EC -> {
+        if (!(privateKey instanceof ECPrivateKey ecPrivateKey) || !(publicKey instanceof ECPublicKey)) {
+          throw new IllegalArgumentException(algorithm + " requires an EC key pair");
+        }
+        int fieldSize = ecPrivateKey.getParams().getCurve().getField().getFieldSize();
+        if (fieldSize != algorithm.getKeySize()) {
+          throw new IllegalArgumentException(algorithm + " requires the " + algorithm.getCurve() + " curve");
+        }
+      }
+      default -> throw new IllegalArgumentException(algorithm + " is not an asymmetric algorithm");
+    }
+    verifyKeyPair(algorithm, privateKey, publicKey);
+    return new SigningKey(algorithm, privateKey, publicKey);
+  }
+
+  /**
+   * Generates a new random signing key for the given algorithm.
+   *
+   * @param algorithm The signing algorithm.
+   * @return A newly generated SigningKey.
+   */
+  public static SigningKey generate(final JwtAlgorithm algorithm) {
+    try {
+      switch (algorithm.getFamily()) {
+        case HMAC -> {
+          byte[] secret = new byte[algorithm.getKeySize() / 8];
+          new SecureRandom().nextBytes(secret);
+          return hmac(algorithm, secret);
+        }
+        case RSA -> {
+          KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+          generator.initialize(MIN_RSA_KEY_SIZE);
+          return keyPair(algorithm, generator.generateKeyPair());
+        }
+        default -> {
+          KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+          generator.initialize(new ECGenParameterSpec(algorithm.getCurve()));
+          return keyPair(algorithm, generator.generateKeyPair());
+        }
+      }
+    } catch (GeneralSecurityException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  /**
+   * Returns the public JSON Web Key (RFC 7517) verifying the signatures of this key.
+   *
+   * @return The JWK members, or null for HMAC keys which must not be published.
+   */
+  public Map<String, Object> toJwk() {
+    Map<String, Object> jwk = new LinkedHashMap<>();
+    if (publicKey instanceof RSAPublicKey rsaPublicKey) {
+      jwk.put("kty", "RSA");
+      jwk.put("n", base64Url(rsaPublicKey.getModulus(), 0));
+      jwk.put("e", base64Url(rsaPublicKey.getPublicExponent(), 0));
+    } else if (publicKey instanceof ECPublicKey ecPublicKey) {
+      int length = (ecPublicKey.getParams().getCurve().getField().getFieldSize() + 7) / 8;
+      jwk.put("kty", "EC");
+      jwk.put("crv", "P-" + ecPublicKey.getParams().getCurve().getField().getFieldSize());
+      jwk.put("x", base64Url(ecPublicKey.getW().getAffineX(), length));
+      jwk.put("y", base64Url(ecPublicKey.getW().getAffineY(), length));
+    } else {
+      return null;
+    }
+    jwk.put("use", "sig");
+    jwk.put("alg", algorithm.name());
+    jwk.put("kid", keyId);
+    return jwk;
+  }
+
+  @Override
+  public String toString() {
+    return "SigningKey(keyId=" + keyId + ", algorithm=" + algorithm + ")";
+  }
+
+  private static void verifyKeyPair(final JwtAlgorithm algorithm, final PrivateKey privateKey,
+      final PublicKey publicKey) {
+    byte[] data = "key pair verification".getBytes(StandardCharsets.US_ASCII);
+    try {
+      Signature signature = Signature.getInstance(algorithm.getJcaName());
+      signature.initSign(privateKey);
+      signature.update(data);
+      byte[] signed = signature.sign();
+      signature.initVerify(publicKey);
+      signature.update(data);
+      if (!signature.verify(signed)) {
+        throw new IllegalArgumentException("The private key does not match the public key");
+      }
+    } catch (GeneralSecurityException e) {
+      throw new IllegalArgumentException("Invalid key pair for " + algorithm, e);
+    }
+  }
+
+  private static String keyId(final byte[] encodedKey) {
+    try {
+      byte[] digest = MessageDigest.getInstance("SHA-256").digest(encodedKey);
+      return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, 16));
+    } catch (GeneralSecurityException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  private static String base64Url(final BigInteger value, final int length) {
+    byte[] bytes = value.toByteArray();
+    if (bytes.length > 1 && bytes[0] == 0) {
+      bytes = Arrays.copyOfRange(bytes, 1, bytes.length);
+    }
+    if (bytes.length < length) {
+      byte[] padded = new byte[length];
+      System.arraycopy(bytes, 0, padded, length - bytes.length, bytes.length);
+      bytes = padded;
+    }
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+  }
+
+}
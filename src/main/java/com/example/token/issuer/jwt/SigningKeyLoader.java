@@ -0,0 +1,104 @@
+package com.example.token.issuer.jwt;
+
+import com.example.token.issuer.jwt.JwtAlgorithm.Family;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Base64;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+/**
+ * Component loading the signing key from the configured resources.
+ * HMAC algorithms read a base64 encoded secret, RSA and EC algorithms read a PEM encoded PKCS#8 private key and its
+ * PEM encoded X.509 public key. The resources are read again on every load, so replacing them and reloading rotates
+ * the key. Any missing, malformed or too short key fails the load.
+ */
+@Slf4j
+@Component
+public class SigningKeyLoader {
+
+  private final JwtAlgorithm algorithm;
+
+  private final String secretLocation;
+
+  private final String privateKeyLocation;
+
+  private final String publicKeyLocation;
+
+  private final ResourceLoader resourceLoader;
+
+  /**
+   * Constructs a SigningKeyLoader with the configured algorithm and key locations.
+   */
+  public SigningKeyLoader(
+      @Value(value = "${JWT_ALGORITHM}") final JwtAlgorithm algorithm,
+      @Value(value = "${JWT_SECRET_LOCATION:}") final String secretLocation,
+      @Value(value = "${JWT_PRIVATE_KEY_LOCATION:}") final String privateKeyLocation,
+      @Value(value = "${JWT_PUBLIC_KEY_LOCATION:}") final String publicKeyLocation,
+      final ResourceLoader resourceLoader) {
+    this.algorithm = algorithm;
+    this.secretLocation = secretLocation;
+    this.privateKeyLocation = privateKeyLocation;
+    this.publicKeyLocation = publicKeyLocation;
+    this.resourceLoader = resourceLoader;
+  }
+
+  /**
+   * Loads the signing key from the configured resources.
+   *
+   * @return The loaded SigningKey.
+   * @throws IllegalStateException if a key is missing or invalid.
+   */
+  public SigningKey load() {
+    try {
+      if (algorithm.getFamily() == Family.HMAC) {
+        byte[] secret = Base64.getMimeDecoder().decode(read("JWT_SECRET_LOCATION", secretLocation).trim());
+        return SigningKey.hmac(algorithm, secret);
+      }
+      String keyAlgorithm = algorithm.getFamily() == Family.RSA ? "RSA" : "EC";
+      KeyFactory keyFactory = KeyFactory.getInstance(keyAlgorithm);
+      KeyPair keyPair = new KeyPair(
+          keyFactory.generatePublic(new X509EncodedKeySpec(
+              decodePem(read("JWT_PUBLIC_KEY_LOCATION", publicKeyLocation), "PUBLIC KEY"))),
+          keyFactory.generatePrivate(new PKCS8EncodedKeySpec(
+              decodePem(read("JWT_PRIVATE_KEY_LOCATION", privateKeyLocation), "PRIVATE KEY"))));
+      return SigningKey.keyPair(algorithm, keyPair);
+    } catch (GeneralSecurityException | IllegalArgumentException e) {
+      throw new IllegalStateException("Invalid " + algorithm + " signing key : " + e.getMessage(), e);
+    }
+  }
+
+  private String read(final String property, final String location) {
+    if (StringUtils.isBlank(location)) {
+      throw new IllegalStateException(property + " is required for " + algorithm);
+    }
+    Resource resource = resourceLoader.getResource(location);
+    try (InputStream inputStream = resource.getInputStream()) {
+      return new String(inputStream.readAllBytes(), StandardCharsets.US_ASCII);
+    } catch (IOException e) {
+      throw new IllegalStateException("Unable to read " + property + "=" + location, e);
+    }
+  }
+
+  private static byte[] decodePem(final String pem, final String type) {
+    String begin = "-----BEGIN " + type + "-----";
+    String end = "-----END " + type + "-----";
+    int start = pem.indexOf(begin);
+    int stop = pem.indexOf(end);
+    if (start < 0 || stop < start) {
+      throw new IllegalArgumentException("Expected a PEM encoded " + type);
+    }
+    return Base64.getMimeDecoder().decode(pem.substring(start + begin.length(), stop));
+  }
+
+}
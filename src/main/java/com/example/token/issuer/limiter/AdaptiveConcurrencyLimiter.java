@@ -0,0 +1,202 @@
+package com.example.token.issuer.limiter;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscription;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.Flux;
+
+/**
+ * Component limiting the number of in-flight token issuances with a gradient algorithm.
+ * The limit grows while the observed latency stays close to its long-term average and shrinks as it rises,
+ * multiplicatively backing off on errors. Upstream demand never exceeds the limit, so when it is reached the
+ * Kafka consumer is paused through backpressure.
+ */
+@Slf4j
+@Component
+public class AdaptiveConcurrencyLimiter {
+
+  /**
+   * Ratio applied to the limit when an issuance fails.
+   */
+  private static final double BACKOFF_RATIO = 0.9;
+
+  /**
+   * Tolerated ratio between the long-term and the current latency before the limit shrinks.
+   */
+  private static final double TOLERANCE = 1.5;
+
+  /**
+   * Weight of a new limit estimate against the current limit.
+   */
+  private static final double SMOOTHING = 0.2;
+
+  /**
+   * Weight of a new sample in the long-term latency average.
+   */
+  private static final double LONG_TERM_WEIGHT = 1.0 / 600;
+
+  private final int minLimit;
+
+  private final int maxLimit;
+
+  private final Timer latencyTimer;
+
+  private double limit;
+
+  private double longTermLatency;
+
+  private int inFlight;
+
+  /**
+   * Constructs an AdaptiveConcurrencyLimiter with the configured bounds and registers its metrics.
+   */
+  public AdaptiveConcurrencyLimiter(
+      @Value(value = "${LIMITER_INITIAL_LIMIT}") final int initialLimit,
+      @Value(value = "${LIMITER_MIN_LIMIT}") final int minLimit,
+      @Value(value = "${LIMITER_MAX_LIMIT}") final int maxLimit,
+      final MeterRegistry meterRegistry) {
+    this.minLimit = minLimit;
+    this.maxLimit = maxLimit;
+    this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    this.latencyTimer = Timer.builder("token.issuer.limiter.latency")
+        .description("Latency of the token issuances observed by the concurrency limiter")
+        .register(meterRegistry);
+    Gauge.builder("token.issuer.limiter.limit", this, AdaptiveConcurrencyLimiter::getLimit)
+        .description("Current limit of in-flight token issuances")
+        .register(meterRegistry);
+    Gauge.builder("token.issuer.limiter.in.flight", this, AdaptiveConcurrencyLimiter::getInFlight)
+        .description("Current number of in-flight token issuances")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Returns the current limit of in-flight issuances.
+   *
+   * @return The current limit.
+   */
+  public synchronized int getLimit() {
+    return (int) limit;
+  }
+
+  /**
+   * Returns the current number of in-flight issuances.
+   *
+   * @return The number of in-flight issuances.
+   */
+  public synchronized int getInFlight() {
+    return inFlight;
+  }
+
+  /**
+   * Creates a subscriber that maps each element with the given function while keeping the number of
+   * in-flight mappings, and the demand requested upstream, within the limit.
+   * Failed mappings are logged and reduce the limit without terminating the subscription.
+   *
+   * @param mapper The function issuing a token for an element.
+   * @param <T>    The type of the elements.
+   * @return A subscriber to subscribe to the source of elements.
+   */
+  public <T> BaseSubscriber<T> subscriber(final Function<T, ? extends Publisher<?>> mapper) {
+    return new LimitedSubscriber<>(mapper);
+  }
+
+  private synchronized void onStart() {
+    inFlight++;
+  }
+
+  private synchronized void onSample(final long latencyNanos, final boolean dropped) {
+    int sampledInFlight = inFlight--;
+    if (dropped) {
+      limit = Math.max(minLimit, limit * BACKOFF_RATIO);
+      return;
+    }
+    latencyTimer.record(latencyNanos, TimeUnit.NANOSECONDS);
+    if (longTermLatency == 0) {
+      longTermLatency = latencyNanos;
+    } else {
+      longTermLatency += (latencyNanos - longTermLatency) * LONG_TERM_WEIGHT;
+    }
+    // Don't grow the limit when it is not the bottleneck.
+    if (sampledInFlight < limit / 2) {
+      return;
+    }
+    double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * longTermLatency / Math.max(1, latencyNanos)));
+    double newLimit = limit * gradient + Math.sqrt(limit);
+    limit = Math.max(minLimit, Math.min(maxLimit, limit * (1 - SMOOTHING) + newLimit * SMOOTHING));
+  }
+
+  /**
+   * Subscriber requesting upstream only as many elements as the limit allows to be in flight.
+   */
+  private final class LimitedSubscriber<T> extends BaseSubscriber<T> {
+
+    private final Function<T, ? extends Publisher<?>> mapper;
+
+    /**
+     * Number of elements requested upstream and not yet received.
+     */
+    private long pending;
+
+    private LimitedSubscriber(final Function<T, ? extends Publisher<?>> mapper) {
+      this.mapper = mapper;
+    }
+
+    @Override
+    protected void hookOnSubscribe(final Subscription subscription) {
+      requestAvailable();
+    }
+
+    @Override
+    protected void hookOnNext(final T value) {
+      synchronized (this) {
+        pending--;
+        onStart();
+      }
+      long start = System.nanoTime();
+      Publisher<?> publisher;
+      try {
+        publisher = mapper.apply(value);
+      } catch (RuntimeException e) {
+        onDone(start, e);
+        return;
+      }
+      Flux.from(publisher)
+          .then()
+          .subscribe(null, throwable -> onDone(start, throwable), () -> onDone(start, null));
+    }
+
+    @Override
+    protected void hookOnError(final Throwable throwable) {
+      log.error("something went wrong while consuming : {}", throwable.getMessage());
+    }
+
+    private void onDone(final long start, final Throwable throwable) {
+      if (throwable != null) {
+        log.error("something went wrong while issuing token : {}", throwable.getMessage());
+      }
+      onSample(System.nanoTime() - start, throwable != null);
+      requestAvailable();
+    }
+
+    private void requestAvailable() {
+      long available;
+      synchronized (this) {
+        available = getLimit() - getInFlight() - pending;
+        if (available <= 0 || isDisposed()) {
+          return;
+        }
+        pending += available;
+      }
+      request(available);
+    }
+  }
+
+}
@@ -0,0 +1,60 @@
+package com.example.token.issuer.messaging;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Component identifying this service replica for reply-to routing.
+ * Token requests are stamped with the replica ID, the processor copies it to the corresponding token response,
+ * and only the replica that sent the request decodes the response for its waiters.
+ */
+@Slf4j
+@Component
+public class ReplyTo {
+
+  /**
+   * The name of the Kafka header carrying the ID of the replica awaiting the response.
+   */
+  public static final String HEADER = "token_reply_to";
+
+  /**
+   * The ID of this replica, as raw header bytes.
+   */
+  private final byte[] replicaId;
+
+  /**
+   * Constructs a ReplyTo with the configured replica ID, or a random one if none is configured.
+   */
+  public ReplyTo(@Value(value = "${REPLICA_ID:}") final String replicaId) {
+    String id = StringUtils.isBlank(replicaId) ? UUID.randomUUID().toString() : replicaId;
+    log.info("replica id={}", id);
+    this.replicaId = id.getBytes(StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Returns the ID of this replica to be stamped on outgoing token requests.
+   *
+   * @return The replica ID as raw header bytes.
+   */
+  public byte[] replicaId() {
+    return replicaId;
+  }
+
+  /**
+   * Checks if a message is addressed to this replica.
+   * Messages without a reply-to replica ID are considered addressed to every replica.
+   *
+   * @param replyTo The reply-to replica ID of the message, or null if there is none.
+   * @return true if this replica should decode the message, false otherwise.
+   */
+  public boolean isAddressedTo(final byte[] replyTo) {
+    return Objects.isNull(replyTo) || Arrays.equals(replicaId, replyTo);
+  }
+
+}
@@ -1,31 +1,30 @@
 package com.example.token.issuer.messaging;
 
+import com.example.token.issuer.TokenIssuerApplication;
+import com.example.token.issuer.jwt.IssuedToken;
+import com.example.token.issuer.jwt.JwtIssuer;
+import com.example.token.issuer.limiter.AdaptiveConcurrencyLimiter;
+import com.example.token.issuer.messaging.transport.TokenRequestMessage;
+import com.example.token.issuer.messaging.transport.TokenRequestTransport;
+import com.example.token.issuer.messaging.transport.TokenResponseMessage;
+import com.example.token.issuer.messaging.transport.TokenResponseTransport;
 import com.example.token.issuer.model.TokenRequest;
 import com.example.token.issuer.model.TokenResponse;
+import com.example.token.issuer.scheduler.SchedulerRegistry;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import java.util.Random;
-import java.util.concurrent.TimeUnit;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.beans.factory.DisposableBean;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.event.ContextRefreshedEvent;
 import org.springframework.context.event.EventListener;
-import org.springframework.kafka.core.reactive.ReactiveKafkaConsumerTemplate;
-import org.springframework.kafka.core.reactive.ReactiveKafkaProducerTemplate;
-import org.springframework.messaging.Message;
-import org.springframework.messaging.support.MessageBuilder;
 import org.springframework.stereotype.Component;
 import reactor.core.Disposable;
+import reactor.core.publisher.BaseSubscriber;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Scheduler;
-import reactor.core.scheduler.Schedulers;
-import reactor.kafka.sender.SenderResult;
 
 /**
- * A component responsible for processing incoming token request messages from a Kafka topic
- * and producing corresponding token responses to another Kafka topic.
+ * A component responsible for processing incoming token request messages from the token request transport
+ * and producing corresponding token responses to the token response transport.
  * It uses reactive programming for more efficient processing.
  */
 
@@ -34,24 +33,34 @@ import reactor.kafka.sender.SenderResult;
 public class TokenRequestProcessor implements DisposableBean {
 
   /**
-   * The name of the Kafka topic to which token response messages are sent.
+   * ObjectMapper for JSON serialization.
    */
-  private final String topic;
+  private final ObjectMapper objectMapper;
 
   /**
-   * ObjectMapper for JSON serialization and deserialization.
+   * Transport delivering the token request messages.
    */
-  private final ObjectMapper objectMapper;
+  private final TokenRequestTransport tokenRequestTransport;
+
+  /**
+   * Transport carrying the token response messages.
+   */
+  private final TokenResponseTransport tokenResponseTransport;
+
+  /**
+   * Issuer of the signed tokens.
+   */
+  private final JwtIssuer jwtIssuer;
 
   /**
-   * Reactive Kafka consumer template for token request messages.
+   * Limiter of the in-flight token issuances.
    */
-  private final ReactiveKafkaConsumerTemplate<String, String> tokenRequestConsumerTemplate;
+  private final AdaptiveConcurrencyLimiter concurrencyLimiter;
 
   /**
-   * Reactive Kafka producer template for token response messages.
+   * Registry providing the scheduler on which the token requests are processed.
    */
-  private final ReactiveKafkaProducerTemplate<String, TokenResponse> tokenResponseProducerTemplate;
+  private final SchedulerRegistry schedulerRegistry;
 
   /**
    * Disposable object for managing the consumer.
@@ -63,66 +72,72 @@ public class TokenRequestProcessor implements DisposableBean {
    * Constructs a TokenRequestProcessor with the required dependencies.
    */
   public TokenRequestProcessor(
-      @Value(value = "${RESPONSE_TOPIC}") final String topic,
       final ObjectMapper objectMapper,
-      final ReactiveKafkaConsumerTemplate<String, String> tokenRequestReactiveKafkaConsumerTemplate,
-      final ReactiveKafkaProducerTemplate<String, TokenResponse> tokenResponseReactiveKafkaProducerTemplate) {
-    this.topic = topic;
+      final TokenRequestTransport tokenRequestTransport,
+      final TokenResponseTransport tokenResponseTransport,
+      final JwtIssuer jwtIssuer,
+      final AdaptiveConcurrencyLimiter concurrencyLimiter,
+      final SchedulerRegistry schedulerRegistry) {
     this.objectMapper = objectMapper;
-    this.tokenRequestConsumerTemplate = tokenRequestReactiveKafkaConsumerTemplate;
-    this.tokenResponseProducerTemplate = tokenResponseReactiveKafkaProducerTemplate;
+    this.tokenRequestTransport = tokenRequestTransport;
+    this.tokenResponseTransport = tokenResponseTransport;
+    this.jwtIssuer = jwtIssuer;
+    this.concurrencyLimiter = concurrencyLimiter;
+    this.schedulerRegistry = schedulerRegistry;
   }
 
   /**
-   * Listens for the ContextRefreshedEvent and initializes the token request consumer.
+   * Listens for the ContextRefreshedEvent and initializes the token request consumer, unless already initialized or
+   * during a training run.
+   * The consumer demand is bounded by the adaptive concurrency limiter.
    *
    * @param event The ContextRefreshedEvent.
    */
   @EventListener
-  public void onApplicationEvent(final ContextRefreshedEvent event) {
+  public synchronized void onApplicationEvent(final ContextRefreshedEvent event) {
+    if (this.consumerDisposable != null && !this.consumerDisposable.isDisposed()) {
+      return;
+    }
+    if (TokenIssuerApplication.isTrainingRun()) {
+      log.info("training run, tokenRequestConsumer not started");
+      return;
+    }
     log.info("init::tokenRequestConsumer()");
-    Scheduler scheduler = Schedulers.newParallel("processor", 10);
-    this.consumerDisposable = tokenRequestConsumerTemplate
-        .receiveAutoAck()
-        .flatMap(receiverRecord -> Mono.fromCallable(() -> process(receiverRecord)).subscribeOn(scheduler))
-        .flatMap(this::publishTokenResponse)
-        .subscribe();
+    BaseSubscriber<TokenRequestMessage> subscriber = concurrencyLimiter.subscriber(this::issue);
+    this.consumerDisposable = tokenRequestTransport
+        .receive()
+        .subscribeWith(subscriber);
   }
 
   /**
-   * Processes an incoming token request message received from the Kafka topic.
-   * Deserializes the message payload, simulates token issuance and generates a TokenResponse.
+   * Issues a token for an incoming token request message and publishes the token response.
+   * The message is acknowledged once the response is sent, or once issuing it failed.
    *
-   * @param receiverRecord The Kafka ConsumerRecord containing the TokenRequest message.
-   * @return The generated token response.
+   * @param tokenRequestMessage The TokenRequest message.
+   * @return A Mono completing once the token response is sent.
    */
-  TokenResponse process(ConsumerRecord<String, String> receiverRecord) {
-    log.info("received key={}, value={} from topic={}, offset={}",
-        receiverRecord.key(),
-        receiverRecord.value(),
-        receiverRecord.topic(),
-        receiverRecord.offset());
-
-    String payload = receiverRecord.value();
-
-    TokenRequest tokenRequest;
-    try {
-      tokenRequest = objectMapper.readValue(payload, TokenRequest.class);
-    } catch (JsonProcessingException e) {
-      throw new RuntimeException(e);
-    }
+  Mono<Void> issue(TokenRequestMessage tokenRequestMessage) {
+    return Mono.fromCallable(() -> process(tokenRequestMessage.getTokenRequest()))
+        .subscribeOn(schedulerRegistry.processor())
+        .flatMap(tokenResponse -> publishTokenResponse(tokenResponse, tokenRequestMessage.getReplyTo()))
+        .doOnTerminate(tokenRequestMessage::acknowledge);
+  }
 
+  /**
+   * Processes an incoming token request.
+   * Issues a signed token and generates a TokenResponse.
+   *
+   * @param tokenRequest The TokenRequest to be processed.
+   * @return The generated token response.
+   */
+  TokenResponse process(TokenRequest tokenRequest) {
     log.info("successfully consumed {}={}", TokenRequest.class.getSimpleName(), tokenRequest);
 
     TokenResponse tokenResponse = TokenResponse.fromTokenRequest(tokenRequest);
 
-    try {
-      // Token issuance simulation
-      TimeUnit.SECONDS.sleep(new Random().nextLong(1, 5));
-      tokenResponse.setToken("TOKEN");
-    } catch (InterruptedException e) {
-      throw new RuntimeException(e);
-    }
+    IssuedToken issuedToken = jwtIssuer.issue(tokenRequest);
+    tokenResponse.setToken(issuedToken.getToken());
+    tokenResponse.setExpiresAt(issuedToken.getExpiresAt());
 
     log.info("TokenRequest processed {}", tokenRequest);
 
@@ -130,17 +145,26 @@ public class TokenRequestProcessor implements DisposableBean {
   }
 
   /**
-   * Publishes a token response message to the configured Kafka topic.
+   * Publishes a token response message to the token response transport.
+   * The message is JSON encoded and carries the expiration time of the token and the reply-to replica ID of the
+   * request, if any, so that only the replica awaiting the response decodes it while the others merely cache it.
    *
    * @param tokenResponse The TokenResponse message to be published.
-   * @return A Mono representing the sending result, including information about the sent message.
+   * @param replyTo       The reply-to replica ID of the token request, or null if there is none.
+   * @return A Mono completing once the token response is sent.
    */
-  Mono<SenderResult<Void>> publishTokenResponse(TokenResponse tokenResponse) {
-    Message<TokenResponse> message = MessageBuilder.withPayload(tokenResponse).build();
-    return tokenResponseProducerTemplate
-        .send(topic, message)
-        .doOnSuccess(
-            senderResult -> log.info("sent {} offset : {}", tokenResponse, senderResult.recordMetadata().offset()));
+  Mono<Void> publishTokenResponse(TokenResponse tokenResponse, byte[] replyTo) {
+    byte[] payload;
+    try {
+      payload = objectMapper.writeValueAsBytes(tokenResponse);
+    } catch (JsonProcessingException e) {
+      return Mono.error(e);
+    }
+    TokenResponseMessage tokenResponseMessage = new TokenResponseMessage(tokenResponse.getUser(), payload,
+        tokenResponse.getExpiresAt().toEpochMilli(), replyTo);
+    return tokenResponseTransport
+        .send(tokenResponseMessage)
+        .doOnSuccess(unused -> log.info("sent {}", tokenResponse));
   }
 
   @Override
@@ -150,4 +174,4 @@ public class TokenRequestProcessor implements DisposableBean {
     }
   }
 
-}
\ No newline at end of file
+}
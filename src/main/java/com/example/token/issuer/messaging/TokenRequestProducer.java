@@ -1,64 +1,53 @@
 package com.example.token.issuer.messaging;
 
+import com.example.token.issuer.messaging.transport.TokenRequestMessage;
+import com.example.token.issuer.messaging.transport.TokenRequestTransport;
 import com.example.token.issuer.model.TokenRequest;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.kafka.core.reactive.ReactiveKafkaProducerTemplate;
-import org.springframework.kafka.support.KafkaHeaders;
-import org.springframework.messaging.Message;
-import org.springframework.messaging.support.MessageBuilder;
 import org.springframework.stereotype.Component;
 import reactor.core.publisher.Mono;
-import reactor.kafka.sender.SenderResult;
 
 /**
- * Producer class responsible for sending token request messages to a Kafka topic.
- * This component is responsible for asynchronously sending token request messages to be processed.
- * It utilizes a Reactive Kafka producer template for sending messages.
+ * Producer class responsible for sending token request messages to be processed.
+ * This component is responsible for asynchronously sending token request messages through the token request
+ * transport, Kafka or in-memory depending on the active profile.
  */
 @Slf4j
 @Component
 public class TokenRequestProducer {
 
   /**
-   * The name of the Kafka topic to which token request messages are sent.
+   * The transport carrying TokenRequest messages to the processor.
    */
-  private final String topic;
+  private final TokenRequestTransport tokenRequestTransport;
 
   /**
-   * The Reactive Kafka producer template for sending TokenRequest messages.
+   * The identity of this replica, stamped on token requests so that only it decodes the responses.
    */
-  private final ReactiveKafkaProducerTemplate<String, TokenRequest> tokenRequestReactiveKafkaProducerTemplate;
+  private final ReplyTo replyTo;
 
 
   /**
    * Constructs a TokenRequestProducer with the required dependencies.
    */
   public TokenRequestProducer(
-      @Value(value = "${REQUEST_TOPIC}") final String topic,
-      final ReactiveKafkaProducerTemplate<String, TokenRequest> tokenRequestReactiveKafkaProducerTemplate) {
-    this.topic = topic;
-    this.tokenRequestReactiveKafkaProducerTemplate = tokenRequestReactiveKafkaProducerTemplate;
+      final TokenRequestTransport tokenRequestTransport,
+      final ReplyTo replyTo) {
+    this.tokenRequestTransport = tokenRequestTransport;
+    this.replyTo = replyTo;
   }
 
   /**
-   * Sends a token request message to the configured Kafka topic.
+   * Sends a token request message through the token request transport.
    *
    * @param tokenRequest The TokenRequest message to be sent.
-   * @return A Mono representing the sending result, including information about the sent message.
+   * @return A Mono completing once the message is sent.
    */
-  public Mono<SenderResult<Void>> sendMessage(final TokenRequest tokenRequest) {
+  public Mono<Void> sendMessage(final TokenRequest tokenRequest) {
 
-    log.info("Sending token request to topic={}, {}={},", topic, TokenRequest.class.getSimpleName(), tokenRequest);
+    log.info("Sending token request {}={},", TokenRequest.class.getSimpleName(), tokenRequest);
 
-    Message<TokenRequest> message = MessageBuilder
-        .withPayload(tokenRequest)
-        .setHeader(KafkaHeaders.KEY, tokenRequest.getUser()) // Ensures messages with the same user go to the same partition
-        .build();
-
-    return tokenRequestReactiveKafkaProducerTemplate.send(topic, message)
-        .doOnSuccess(senderResult -> log.info("Sent {} offset : {}",
-            tokenRequest,
-            senderResult.recordMetadata().offset()));
+    // Stamping the replica ID ensures only this replica decodes the response
+    return tokenRequestTransport.send(new TokenRequestMessage(tokenRequest, replyTo.replicaId()));
   }
-}
\ No newline at end of file
+}
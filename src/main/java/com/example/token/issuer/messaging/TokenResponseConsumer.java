@@ -1,14 +1,17 @@
 package com.example.token.issuer.messaging;
 
+import com.example.token.issuer.TokenIssuerApplication;
+import com.example.token.issuer.cache.TokenResponseCacheUpdate;
+import com.example.token.issuer.messaging.transport.TokenResponseMessage;
+import com.example.token.issuer.messaging.transport.TokenResponseTransport;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.example.token.issuer.model.TokenResponse;
+import java.io.IOException;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.beans.factory.DisposableBean;
 import org.springframework.context.event.ContextRefreshedEvent;
 import org.springframework.context.event.EventListener;
-import org.springframework.kafka.core.reactive.ReactiveKafkaConsumerTemplate;
 import org.springframework.stereotype.Component;
 import reactor.core.Disposable;
 import reactor.core.publisher.Sinks.EmitFailureHandler;
@@ -18,50 +21,78 @@ import reactor.core.publisher.Sinks.Many;
 @Component
 public class TokenResponseConsumer implements DisposableBean {
 
-  private final ReactiveKafkaConsumerTemplate<String, String> tokenResponseConsumerTemplate;
+  private final TokenResponseTransport tokenResponseTransport;
 
   private final ObjectMapper objectMapper;
 
-  private final Many<TokenResponse> tokenResponseStream;
+  private final TokenResponseWaiters tokenResponseWaiters;
+
+  private final Many<TokenResponseCacheUpdate> tokenResponseCacheUpdateStream;
+
+  private final ReplyTo replyTo;
 
   private Disposable consumerDisposable;
 
   public TokenResponseConsumer(
-      final ReactiveKafkaConsumerTemplate<String, String> tokenResponseReactiveKafkaConsumerTemplate,
-      final Many<TokenResponse> tokenResponseStream,
+      final TokenResponseTransport tokenResponseTransport,
+      final TokenResponseWaiters tokenResponseWaiters,
+      final Many<TokenResponseCacheUpdate> tokenResponseCacheUpdateStream,
+      final ReplyTo replyTo,
       final ObjectMapper objectMapper) {
-    this.tokenResponseConsumerTemplate = tokenResponseReactiveKafkaConsumerTemplate;
+    this.tokenResponseTransport = tokenResponseTransport;
     this.objectMapper = objectMapper;
-    this.tokenResponseStream = tokenResponseStream;
+    this.tokenResponseWaiters = tokenResponseWaiters;
+    this.tokenResponseCacheUpdateStream = tokenResponseCacheUpdateStream;
+    this.replyTo = replyTo;
   }
 
   @EventListener
-  public void onApplicationEvent(final ContextRefreshedEvent event) {
+  public synchronized void onApplicationEvent(final ContextRefreshedEvent event) {
+    if (this.consumerDisposable != null && !this.consumerDisposable.isDisposed()) {
+      return;
+    }
+    if (TokenIssuerApplication.isTrainingRun()) {
+      log.info("training run, tokenResponseConsumer not started");
+      return;
+    }
     log.info("init::tokenResponseConsumer()");
-    this.consumerDisposable = tokenResponseConsumerTemplate
-        .receiveAutoAck()
-        .doOnNext(consumerRecord -> log.info("received key={}, value={} from topic={}, offset={}",
-            consumerRecord.key(),
-            consumerRecord.value(),
-            consumerRecord.topic(),
-            consumerRecord.offset())
-        )
-        .map(ConsumerRecord::value)
-        .map(payload -> {
-          TokenResponse tokenResponse;
-          try {
-            tokenResponse = objectMapper.readValue(payload, TokenResponse.class);
-            this.tokenResponseStream.emitNext(tokenResponse, EmitFailureHandler.FAIL_FAST);
-          } catch (JsonProcessingException e) {
-            throw new RuntimeException(e);
-          }
-          log.info("successfully consumed {}={}", TokenResponse.class.getSimpleName(), tokenResponse);
-          return tokenResponse;
-        })
+    this.consumerDisposable = tokenResponseTransport
+        .receive()
+        .doOnNext(this::consume)
         .doOnError(throwable -> log.error("something went wrong while consuming : {}", throwable.getMessage()))
         .subscribe();
   }
 
+  /**
+   * Consumes a token response message.
+   * Every response is forwarded, still encoded, to the cache. Only the responses addressed to this replica are
+   * decoded and complete their waiter; those which cannot be decoded are logged and dropped, leaving their waiter
+   * to time out.
+   *
+   * @param tokenResponseMessage The TokenResponse message.
+   */
+  void consume(final TokenResponseMessage tokenResponseMessage) {
+    TokenResponseCacheUpdate tokenResponseCacheUpdate = new TokenResponseCacheUpdate(
+        tokenResponseMessage.getUser(),
+        tokenResponseMessage.getPayload(),
+        tokenResponseMessage.getExpiresAt());
+    this.tokenResponseCacheUpdateStream.emitNext(tokenResponseCacheUpdate, EmitFailureHandler.FAIL_FAST);
+
+    if (replyTo.isAddressedTo(tokenResponseMessage.getReplyTo())) {
+      TokenResponse tokenResponse;
+      try {
+        tokenResponse = objectMapper.readValue(tokenResponseMessage.getPayload(), TokenResponse.class);
+      } catch (IOException e) {
+        // The original message leaves out the source excerpt, which may hold the token.
+        log.error("something went wrong while decoding token response : {}",
+            e instanceof JsonProcessingException jsonException ? jsonException.getOriginalMessage() : e.getMessage());
+        return;
+      }
+      this.tokenResponseWaiters.complete(tokenResponse);
+      log.info("successfully consumed {}={}", TokenResponse.class.getSimpleName(), tokenResponse);
+    }
+  }
+
   @Override
   public void destroy() throws Exception {
     if (this.consumerDisposable != null && !this.consumerDisposable.isDisposed()) {
@@ -69,4 +100,4 @@ public class TokenResponseConsumer implements DisposableBean {
     }
   }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,66 @@
+package com.example.token.issuer.messaging;
+
+import com.example.token.issuer.model.TokenResponse;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+/**
+ * Registry of the requests awaiting their token response, indexed by correlation ID.
+ * A waiter is registered before its request is sent, so a response can never arrive unseen, and each response
+ * completes only its own waiter instead of being broadcast to all of them.
+ */
+@Slf4j
+@Component
+public class TokenResponseWaiters {
+
+  /**
+   * The pending waiters indexed by correlation ID.
+   */
+  private final Map<UUID, Sinks.One<TokenResponse>> waiters = new ConcurrentHashMap<>();
+
+  /**
+   * Awaits the token response of a request, registering the waiter on subscription, before the request is sent.
+   * The waiter is removed once the returned Mono terminates or is cancelled.
+   *
+   * @param correlationId The correlation ID of the token request.
+   * @param request       The Mono sending the token request.
+   * @return A Mono emitting the token response once the request is sent and its response received.
+   */
+  public Mono<TokenResponse> await(final UUID correlationId, final Mono<Void> request) {
+    return Mono.defer(() -> {
+      Sinks.One<TokenResponse> waiter = Sinks.one();
+      waiters.put(correlationId, waiter);
+      return request.then(waiter.asMono());
+    }).doFinally(signalType -> waiters.remove(correlationId));
+  }
+
+  /**
+   * Completes the waiter of a token response. Responses nobody awaits, e.g. after a timeout, are dropped.
+   *
+   * @param tokenResponse The received TokenResponse.
+   */
+  public void complete(final TokenResponse tokenResponse) {
+    Sinks.One<TokenResponse> waiter = waiters.remove(tokenResponse.getCorrelationId());
+    if (Objects.isNull(waiter)) {
+      log.debug("no request awaits the token response {}", tokenResponse);
+      return;
+    }
+    waiter.tryEmitValue(tokenResponse);
+  }
+
+  /**
+   * Returns the number of requests awaiting their token response.
+   *
+   * @return The number of pending waiters.
+   */
+  public int size() {
+    return waiters.size();
+  }
+
+}
@@ -0,0 +1,61 @@
+package com.example.token.issuer.messaging.transport;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.publisher.Sinks.EmitResult;
+import reactor.core.publisher.Sinks.Many;
+import reactor.core.scheduler.Scheduler;
+import reactor.util.concurrent.Queues;
+
+/**
+ * In-memory channel backed by a bounded lock-free queue, delivering messages to a single subscriber on demand.
+ * Concurrent senders are serialized by the sink, so the queue only ever sees a single producer. The subscriber is
+ * handed the messages on the delivery scheduler: a sender only enqueues them, so the other senders spin for the
+ * duration of an enqueue, not of the consumption.
+ *
+ * @param <T> The type of the messages.
+ */
+class InMemoryChannel<T> {
+
+  private final String name;
+
+  private final Many<T> sink;
+
+  private final Scheduler deliveryScheduler;
+
+  InMemoryChannel(final String name, final int capacity, final Scheduler deliveryScheduler) {
+    this.name = name;
+    this.sink = Sinks.many().unicast().onBackpressureBuffer(Queues.<T>get(capacity).get());
+    this.deliveryScheduler = deliveryScheduler;
+  }
+
+  /**
+   * Enqueues a message, failing if the queue is full.
+   *
+   * @param message The message to be enqueued.
+   * @return A Mono completing once the message is enqueued.
+   */
+  Mono<Void> send(final T message) {
+    return Mono.defer(() -> {
+      EmitResult emitResult;
+      while ((emitResult = sink.tryEmitNext(message)) == EmitResult.FAIL_NON_SERIALIZED) {
+        Thread.onSpinWait();
+      }
+      if (emitResult.isFailure()) {
+        return Mono.error(new IllegalStateException("Failed to send to channel " + name + " : " + emitResult));
+      }
+      return Mono.empty();
+    });
+  }
+
+  /**
+   * Returns the messages of the channel, delivered on the delivery scheduler. It can be subscribed to only once.
+   *
+   * @return A Flux of the messages.
+   */
+  Flux<T> receive() {
+    return sink.asFlux().publishOn(deliveryScheduler);
+  }
+
+}
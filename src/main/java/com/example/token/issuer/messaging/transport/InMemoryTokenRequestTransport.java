@@ -0,0 +1,44 @@
+package com.example.token.issuer.messaging.transport;
+
+import com.example.token.issuer.scheduler.SchedulerRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * In-memory token request transport for single-node deployments, active with the "in-memory" profile.
+ * Token requests are handed to the processor as objects, without being serialized.
+ */
+@Component
+@Profile(InMemoryTokenRequestTransport.PROFILE)
+public class InMemoryTokenRequestTransport implements TokenRequestTransport {
+
+  /**
+   * The name of the profile selecting the in-memory transports.
+   */
+  public static final String PROFILE = "in-memory";
+
+  private final InMemoryChannel<TokenRequestMessage> channel;
+
+  /**
+   * Constructs an InMemoryTokenRequestTransport with the configured queue capacity.
+   */
+  public InMemoryTokenRequestTransport(
+      @Value(value = "${IN_MEMORY_QUEUE_CAPACITY}") final int capacity,
+      final SchedulerRegistry schedulerRegistry) {
+    this.channel = new InMemoryChannel<>("token-request", capacity, schedulerRegistry.delivery());
+  }
+
+  @Override
+  public Mono<Void> send(final TokenRequestMessage tokenRequestMessage) {
+    return channel.send(tokenRequestMessage);
+  }
+
+  @Override
+  public Flux<TokenRequestMessage> receive() {
+    return channel.receive();
+  }
+
+}
@@ -0,0 +1,38 @@
+package com.example.token.issuer.messaging.transport;
+
+import com.example.token.issuer.scheduler.SchedulerRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * In-memory token response transport for single-node deployments, active with the "in-memory" profile.
+ */
+@Component
+@Profile(InMemoryTokenRequestTransport.PROFILE)
+public class InMemoryTokenResponseTransport implements TokenResponseTransport {
+
+  private final InMemoryChannel<TokenResponseMessage> channel;
+
+  /**
+   * Constructs an InMemoryTokenResponseTransport with the configured queue capacity.
+   */
+  public InMemoryTokenResponseTransport(
+      @Value(value = "${IN_MEMORY_QUEUE_CAPACITY}") final int capacity,
+      final SchedulerRegistry schedulerRegistry) {
+    this.channel = new InMemoryChannel<>("token-response", capacity, schedulerRegistry.delivery());
+  }
+
+  @Override
+  public Mono<Void> send(final TokenResponseMessage tokenResponseMessage) {
+    return channel.send(tokenResponseMessage);
+  }
+
+  @Override
+  public Flux<TokenResponseMessage> receive() {
+    return channel.receive();
+  }
+
+}
@@ -0,0 +1,113 @@
+package com.example.token.issuer.messaging.transport;
+
+import com.example.token.issuer.messaging.ReplyTo;
+import com.example.token.issuer.model.TokenRequest;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.Objects;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.header.Header;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.kafka.core.reactive.ReactiveKafkaConsumerTemplate;
+import org.springframework.kafka.core.reactive.ReactiveKafkaProducerTemplate;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Kafka token request transport, active unless the "in-memory" profile is.
+ * Token requests are sent as JSON, keyed by user, with the reply-to replica ID in a header.
+ */
+@Slf4j
+@Component
+@Profile("!" + InMemoryTokenRequestTransport.PROFILE)
+public class KafkaTokenRequestTransport implements TokenRequestTransport {
+
+  /**
+   * The name of the Kafka topic for token request messages.
+   */
+  private final String topic;
+
+  /**
+   * ObjectMapper for JSON deserialization.
+   */
+  private final ObjectMapper objectMapper;
+
+  /**
+   * Reactive Kafka producer template for token request messages.
+   */
+  private final ReactiveKafkaProducerTemplate<String, TokenRequest> tokenRequestProducerTemplate;
+
+  /**
+   * Reactive Kafka consumer template for token request messages.
+   */
+  private final ReactiveKafkaConsumerTemplate<String, String> tokenRequestConsumerTemplate;
+
+  /**
+   * Constructs a KafkaTokenRequestTransport with the required dependencies.
+   */
+  public KafkaTokenRequestTransport(
+      @Value(value = "${REQUEST_TOPIC}") final String topic,
+      final ObjectMapper objectMapper,
+      final ReactiveKafkaProducerTemplate<String, TokenRequest> tokenRequestReactiveKafkaProducerTemplate,
+      final ReactiveKafkaConsumerTemplate<String, String> tokenRequestReactiveKafkaConsumerTemplate) {
+    this.topic = topic;
+    this.objectMapper = objectMapper;
+    this.tokenRequestProducerTemplate = tokenRequestReactiveKafkaProducerTemplate;
+    this.tokenRequestConsumerTemplate = tokenRequestReactiveKafkaConsumerTemplate;
+  }
+
+  @Override
+  public Mono<Void> send(final TokenRequestMessage tokenRequestMessage) {
+    TokenRequest tokenRequest = tokenRequestMessage.getTokenRequest();
+    // Keying by user ensures messages with the same user go to the same partition
+    MessageBuilder<TokenRequest> messageBuilder = MessageBuilder
+        .withPayload(tokenRequest)
+        .setHeader(KafkaHeaders.KEY, tokenRequest.getUser());
+    if (Objects.nonNull(tokenRequestMessage.getReplyTo())) {
+      messageBuilder.setHeader(ReplyTo.HEADER, tokenRequestMessage.getReplyTo());
+    }
+    Message<TokenRequest> message = messageBuilder.build();
+
+    return tokenRequestProducerTemplate.send(topic, message)
+        .doOnSuccess(senderResult -> log.info("Sent {} offset : {}",
+            tokenRequest,
+            senderResult.recordMetadata().offset()))
+        .then();
+  }
+
+  /**
+   * Receives the token requests record by record, so that the consumer is paused as soon as the downstream demand is
+   * met, with at most one poll buffered. Each record is acknowledged once its message is, or at once if it cannot be
+   * decoded.
+   */
+  @Override
+  public Flux<TokenRequestMessage> receive() {
+    return tokenRequestConsumerTemplate
+        .receive()
+        .handle((receiverRecord, sink) -> {
+          // The value carries the credential, so only its size is logged.
+          log.info("received key={}, {} chars from topic={}, partition={}, offset={}",
+              receiverRecord.key(),
+              Objects.nonNull(receiverRecord.value()) ? receiverRecord.value().length() : 0,
+              receiverRecord.topic(),
+              receiverRecord.partition(),
+              receiverRecord.offset());
+          try {
+            TokenRequest tokenRequest = objectMapper.readValue(receiverRecord.value(), TokenRequest.class);
+            Header replyTo = receiverRecord.headers().lastHeader(ReplyTo.HEADER);
+            sink.next(new TokenRequestMessage(tokenRequest, Objects.nonNull(replyTo) ? replyTo.value() : null,
+                receiverRecord.receiverOffset()::acknowledge));
+          } catch (JsonProcessingException e) {
+            // The original message leaves out the source excerpt, which may hold the credential.
+            log.error("something went wrong while decoding token request : {}", e.getOriginalMessage());
+            receiverRecord.receiverOffset().acknowledge();
+          }
+        });
+  }
+
+}
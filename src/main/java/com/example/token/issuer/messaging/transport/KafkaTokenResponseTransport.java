@@ -0,0 +1,150 @@
+package com.example.token.issuer.messaging.transport;
+
+import com.example.token.issuer.messaging.ReplyTo;
+import com.example.token.issuer.model.TokenResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Objects;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.kafka.core.reactive.ReactiveKafkaConsumerTemplate;
+import org.springframework.kafka.core.reactive.ReactiveKafkaProducerTemplate;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Kafka token response transport, active unless the "in-memory" profile is.
+ * Token responses are sent as JSON bytes, keyed by user, with the expiration time of the token and the reply-to
+ * replica ID in headers, so that they can be routed and cached without being decoded.
+ */
+@Slf4j
+@Component
+@Profile("!" + InMemoryTokenRequestTransport.PROFILE)
+public class KafkaTokenResponseTransport implements TokenResponseTransport {
+
+  /**
+   * The name of the Kafka header carrying the expiration time of the token, in epoch milliseconds.
+   */
+  public static final String EXPIRES_AT_HEADER = "token_expires_at";
+
+  /**
+   * The name of the Kafka topic for token response messages.
+   */
+  private final String topic;
+
+  /**
+   * ObjectMapper for decoding the messages lacking the key or the expiration time header.
+   */
+  private final ObjectMapper objectMapper;
+
+  /**
+   * Reactive Kafka producer template for token response messages.
+   */
+  private final ReactiveKafkaProducerTemplate<String, byte[]> tokenResponseProducerTemplate;
+
+  /**
+   * Reactive Kafka consumer template for token response messages.
+   */
+  private final ReactiveKafkaConsumerTemplate<String, byte[]> tokenResponseConsumerTemplate;
+
+  /**
+   * Constructs a KafkaTokenResponseTransport with the required dependencies.
+   */
+  public KafkaTokenResponseTransport(
+      @Value(value = "${RESPONSE_TOPIC}") final String topic,
+      final ObjectMapper objectMapper,
+      final ReactiveKafkaProducerTemplate<String, byte[]> tokenResponseReactiveKafkaProducerTemplate,
+      final ReactiveKafkaConsumerTemplate<String, byte[]> tokenResponseReactiveKafkaConsumerTemplate) {
+    this.topic = topic;
+    this.objectMapper = objectMapper;
+    this.tokenResponseProducerTemplate = tokenResponseReactiveKafkaProducerTemplate;
+    this.tokenResponseConsumerTemplate = tokenResponseReactiveKafkaConsumerTemplate;
+  }
+
+  @Override
+  public Mono<Void> send(final TokenResponseMessage tokenResponseMessage) {
+    MessageBuilder<byte[]> messageBuilder = MessageBuilder.withPayload(tokenResponseMessage.getPayload())
+        .setHeader(KafkaHeaders.KEY, tokenResponseMessage.getUser())
+        .setHeader(EXPIRES_AT_HEADER, ByteBuffer.allocate(Long.BYTES)
+            .putLong(tokenResponseMessage.getExpiresAt())
+            .array());
+    if (Objects.nonNull(tokenResponseMessage.getReplyTo())) {
+      messageBuilder.setHeader(ReplyTo.HEADER, tokenResponseMessage.getReplyTo());
+    }
+    Message<byte[]> message = messageBuilder.build();
+    return tokenResponseProducerTemplate
+        .send(topic, message)
+        .doOnSuccess(senderResult -> log.info("sent token response of user={} offset : {}",
+            tokenResponseMessage.getUser(),
+            senderResult.recordMetadata().offset()))
+        .then();
+  }
+
+  /**
+   * Receives the token responses. Records which cannot be decoded are logged and dropped, so that they do not
+   * terminate the subscription.
+   */
+  @Override
+  public Flux<TokenResponseMessage> receive() {
+    return tokenResponseConsumerTemplate
+        .receiveAutoAck()
+        .handle((consumerRecord, sink) -> {
+          log.info("received key={}, {} bytes from topic={}, offset={}",
+              consumerRecord.key(),
+              Objects.nonNull(consumerRecord.value()) ? consumerRecord.value().length : 0,
+              consumerRecord.topic(),
+              consumerRecord.offset());
+          TokenResponseMessage tokenResponseMessage = toTokenResponseMessage(consumerRecord);
+          if (Objects.nonNull(tokenResponseMessage)) {
+            sink.next(tokenResponseMessage);
+          }
+        });
+  }
+
+  /**
+   * Converts a Kafka record to a token response message.
+   * Records lacking the key or the expiration time header are decoded to retrieve them.
+   *
+   * @param consumerRecord The Kafka ConsumerRecord containing the TokenResponse message.
+   * @return The TokenResponseMessage, or null if the record cannot be decoded.
+   */
+  TokenResponseMessage toTokenResponseMessage(final ConsumerRecord<String, byte[]> consumerRecord) {
+    Header replyToHeader = consumerRecord.headers().lastHeader(ReplyTo.HEADER);
+    byte[] replyTo = Objects.nonNull(replyToHeader) ? replyToHeader.value() : null;
+    Header expiresAtHeader = consumerRecord.headers().lastHeader(EXPIRES_AT_HEADER);
+    if (Objects.isNull(consumerRecord.value())) {
+      log.error("something went wrong while decoding token response : empty record at offset {}",
+          consumerRecord.offset());
+      return null;
+    }
+    if (Objects.nonNull(consumerRecord.key()) && Objects.nonNull(expiresAtHeader)
+        && expiresAtHeader.value().length == Long.BYTES) {
+      return new TokenResponseMessage(consumerRecord.key(), consumerRecord.value(),
+          ByteBuffer.wrap(expiresAtHeader.value()).getLong(), replyTo);
+    }
+
+    TokenResponse tokenResponse;
+    try {
+      tokenResponse = objectMapper.readValue(consumerRecord.value(), TokenResponse.class);
+    } catch (IOException e) {
+      // The original message leaves out the source excerpt, which may hold the token.
+      log.error("something went wrong while decoding token response : {}",
+          e instanceof JsonProcessingException jsonException ? jsonException.getOriginalMessage() : e.getMessage());
+      return null;
+    }
+    long expiresAt = Objects.nonNull(tokenResponse.getExpiresAt())
+        ? tokenResponse.getExpiresAt().toEpochMilli()
+        : Long.MAX_VALUE;
+    return new TokenResponseMessage(tokenResponse.getUser(), consumerRecord.value(), expiresAt, replyTo);
+  }
+
+}
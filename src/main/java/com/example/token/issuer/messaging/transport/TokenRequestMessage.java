@@ -0,0 +1,48 @@
+package com.example.token.issuer.messaging.transport;
+
+import com.example.token.issuer.model.TokenRequest;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import lombok.Value;
+
+/**
+ * Data class representing a token request in transit, along with the ID of the replica awaiting its response.
+ * The receiver acknowledges the message once it is handled, letting the transport commit its position.
+ */
+@Value
+@AllArgsConstructor
+public class TokenRequestMessage {
+
+  /**
+   * The token request.
+   */
+  TokenRequest tokenRequest;
+
+  /**
+   * The ID of the replica awaiting the response, or null if any replica may handle it.
+   */
+  byte[] replyTo;
+
+  /**
+   * The transport callback acknowledging the message.
+   */
+  @ToString.Exclude
+  @EqualsAndHashCode.Exclude
+  Runnable acknowledgement;
+
+  /**
+   * Constructs a TokenRequestMessage which needs no acknowledgement.
+   */
+  public TokenRequestMessage(final TokenRequest tokenRequest, final byte[] replyTo) {
+    this(tokenRequest, replyTo, () -> { });
+  }
+
+  /**
+   * Acknowledges the message once it is handled, successfully or not.
+   */
+  public void acknowledge() {
+    acknowledgement.run();
+  }
+
+}
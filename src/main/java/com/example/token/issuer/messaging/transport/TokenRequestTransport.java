@@ -0,0 +1,26 @@
+package com.example.token.issuer.messaging.transport;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Transport carrying token requests from the TokenRequestProducer to the TokenRequestProcessor.
+ */
+public interface TokenRequestTransport {
+
+  /**
+   * Sends a token request.
+   *
+   * @param tokenRequestMessage The token request to be sent.
+   * @return A Mono completing once the token request is sent.
+   */
+  Mono<Void> send(TokenRequestMessage tokenRequestMessage);
+
+  /**
+   * Receives the token requests. The transport must not emit more requests than demanded.
+   *
+   * @return A Flux of the received token requests.
+   */
+  Flux<TokenRequestMessage> receive();
+
+}
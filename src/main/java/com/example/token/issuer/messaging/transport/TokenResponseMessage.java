@@ -0,0 +1,32 @@
+package com.example.token.issuer.messaging.transport;
+
+import lombok.Value;
+
+/**
+ * Data class representing an encoded token response in transit, along with the metadata needed to cache and route
+ * it without decoding it.
+ */
+@Value
+public class TokenResponseMessage {
+
+  /**
+   * User identifier for whom the token was issued.
+   */
+  String user;
+
+  /**
+   * The JSON encoded TokenResponse.
+   */
+  byte[] payload;
+
+  /**
+   * The expiration time of the token, in epoch milliseconds.
+   */
+  long expiresAt;
+
+  /**
+   * The ID of the replica awaiting the response, or null if it is addressed to every replica.
+   */
+  byte[] replyTo;
+
+}
@@ -0,0 +1,26 @@
+package com.example.token.issuer.messaging.transport;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Transport carrying token responses from the TokenRequestProcessor to the TokenResponseConsumer.
+ */
+public interface TokenResponseTransport {
+
+  /**
+   * Sends a token response.
+   *
+   * @param tokenResponseMessage The token response to be sent.
+   * @return A Mono completing once the token response is sent.
+   */
+  Mono<Void> send(TokenResponseMessage tokenResponseMessage);
+
+  /**
+   * Receives the token responses.
+   *
+   * @return A Flux of the received token responses.
+   */
+  Flux<TokenResponseMessage> receive();
+
+}
@@ -2,6 +2,7 @@ package com.example.token.issuer.model;
 
 import java.util.UUID;
 import lombok.Data;
+import lombok.ToString;
 
 /**
  * Data class representing a token request.
@@ -23,8 +24,9 @@ public class TokenRequest {
   private String user;
 
   /**
-   * Credential information required for token issuance.
+   * Credential information required for token issuance. It is kept out of the logs.
    */
+  @ToString.Exclude
   private String credential;
 
 }
@@ -1,11 +1,12 @@
 package com.example.token.issuer.model;
 
+import com.fasterxml.jackson.annotation.JsonFormat;
 import java.time.Instant;
-import java.util.Objects;
 import java.util.UUID;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.ToString;
 
 /**
  * Data class representing a token response.
@@ -17,15 +18,6 @@ import lombok.Data;
 @Builder
 public class TokenResponse {
 
-  /**
-   * A default TokenResponse instance.
-   */
-  public static final TokenResponse DEFAULT = new TokenResponse(
-      UUID.fromString("00000000-0000-0000-0000-000000000000"),
-      "user",
-      "token",
-      Instant.ofEpochMilli(0));
-
   /**
    * Unique correlation ID associated with the token response.
    */
@@ -37,36 +29,17 @@ public class TokenResponse {
   private String user;
 
   /**
-   * The issued token.
+   * The issued token. It is a live bearer token, so it is kept out of the logs.
    */
+  @ToString.Exclude
   private String token;
 
   /**
-   * The expiration time of the token.
+   * The expiration time of the token, written as numeric epoch seconds whatever the configuration of the mapper.
    */
+  @JsonFormat(shape = JsonFormat.Shape.NUMBER)
   private Instant expiresAt;
 
-  /**
-   * Sets the token value and updates the expiration time based on the token's validity.
-   *
-   * @param token The token string.
-   */
-  public void setToken(String token) {
-    this.token = token;
-    // Update the expiration time using the token's validity period.
-    this.expiresAt = Instant.now().plusSeconds(60); // Assuming a default validity period of 60 seconds.
-  }
-
-  /**
-   * Checks if the token is expired, considering a graceful period.
-   *
-   * @param gracefulPeriod The additional time, in seconds, to consider the token as not expired.
-   * @return true if the token is expired, false otherwise.
-   */
-  public boolean isExpired(long gracefulPeriod) {
-    return Objects.nonNull(this.expiresAt) && this.expiresAt.isBefore(Instant.now().plusSeconds(gracefulPeriod));
-  }
-
   /**
    * Creates a TokenResponse instance from a TokenRequest by copying user and correlation ID.
    *
@@ -0,0 +1,217 @@
+package com.example.token.issuer.scheduler;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Central registry of the schedulers used by the application.
+ * Each scheduler is backed by a named, bounded thread pool sized from the available cores unless configured,
+ * reports its active, queued and rejected tasks as metrics, and is disposed of on shutdown.
+ */
+@Slf4j
+@Component
+public class SchedulerRegistry implements DisposableBean {
+
+  /**
+   * The name of the scheduler processing token requests.
+   */
+  public static final String PROCESSOR = "processor";
+
+  /**
+   * The name of the scheduler publishing Kafka messages.
+   */
+  public static final String PRODUCER = "producer";
+
+  /**
+   * The name of the scheduler delivering the messages of the in-memory channels.
+   */
+  public static final String DELIVERY = "delivery";
+
+  /**
+   * The name of the scheduler for blocking stages.
+   */
+  public static final String BLOCKING = "blocking";
+
+  /**
+   * The number of delivery threads, one per in-memory channel.
+   */
+  private static final int DELIVERY_THREADS = 2;
+
+  private final MeterRegistry meterRegistry;
+
+  private final int queueCapacity;
+
+  private final Scheduler processor;
+
+  private final Scheduler producer;
+
+  private final Scheduler delivery;
+
+  private final int blockingThreads;
+
+  private final boolean blockingVirtualThreads;
+
+  /**
+   * The scheduler for blocking stages, created on first use.
+   */
+  private volatile Scheduler blocking;
+
+  /**
+   * Constructs a SchedulerRegistry with the configured pool sizes, where 0 means sized from the available cores.
+   */
+  public SchedulerRegistry(
+      @Value(value = "${SCHEDULER_PROCESSOR_THREADS}") final int processorThreads,
+      @Value(value = "${SCHEDULER_PRODUCER_THREADS}") final int producerThreads,
+      @Value(value = "${SCHEDULER_BLOCKING_THREADS}") final int blockingThreads,
+      @Value(value = "${SCHEDULER_BLOCKING_VIRTUAL_THREADS}") final boolean blockingVirtualThreads,
+      @Value(value = "${SCHEDULER_QUEUE_CAPACITY}") final int queueCapacity,
+      final MeterRegistry meterRegistry) {
+    int cores = Runtime.getRuntime().availableProcessors();
+    this.meterRegistry = meterRegistry;
+    this.queueCapacity = queueCapacity;
+    this.processor = newScheduler(PROCESSOR, processorThreads > 0 ? processorThreads : cores);
+    this.producer = newScheduler(PRODUCER, producerThreads > 0 ? producerThreads : Math.max(2, cores / 2));
+    this.delivery = newScheduler(DELIVERY, DELIVERY_THREADS);
+    this.blockingThreads = blockingThreads > 0 ? blockingThreads : 10 * cores;
+    this.blockingVirtualThreads = blockingVirtualThreads;
+  }
+
+  /**
+   * Returns the scheduler processing token requests.
+   * It runs on platform threads, which keep the thread-confined JWT encoders alive across tasks.
+   *
+   * @return The processor Scheduler.
+   */
+  public Scheduler processor() {
+    return processor;
+  }
+
+  /**
+   * Returns the scheduler publishing Kafka messages.
+   *
+   * @return The producer Scheduler.
+   */
+  public Scheduler producer() {
+    return producer;
+  }
+
+  /**
+   * Returns the scheduler delivering the messages of the in-memory channels to their subscriber, so that senders
+   * only enqueue them. Its threads are only started with the in-memory transports.
+   *
+   * @return The delivery Scheduler.
+   */
+  public Scheduler delivery() {
+    return delivery;
+  }
+
+  /**
+   * Returns the scheduler for blocking stages, created on first use.
+   * Its tasks run on virtual threads when enabled and supported by the runtime (Java 21+), on platform threads
+   * otherwise. Either way, at most the configured number of tasks run at once, the others are queued, and the
+   * scheduler reports the same metrics as the others.
+   *
+   * @return The blocking Scheduler.
+   */
+  public Scheduler blocking() {
+    Scheduler scheduler = blocking;
+    if (scheduler == null) {
+      synchronized (this) {
+        scheduler = blocking;
+        if (scheduler == null) {
+          ThreadFactory virtualThreadFactory = blockingVirtualThreads ? virtualThreadFactory(BLOCKING) : null;
+          scheduler = Objects.nonNull(virtualThreadFactory)
+              ? newScheduler(BLOCKING, blockingThreads, virtualThreadFactory)
+              : newScheduler(BLOCKING, blockingThreads);
+          blocking = scheduler;
+        }
+      }
+    }
+    return scheduler;
+  }
+
+  private Scheduler newScheduler(final String name, final int threads) {
+    return newScheduler(name, threads, new NamedThreadFactory(name));
+  }
+
+  private Scheduler newScheduler(final String name, final int threads, final ThreadFactory threadFactory) {
+    Counter rejected = Counter.builder("executor.rejected")
+        .description("The number of tasks rejected by the executor")
+        .tag("name", name)
+        .register(meterRegistry);
+    ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(queueCapacity), threadFactory, (task, pool) -> {
+          rejected.increment();
+          throw new RejectedExecutionException("Task rejected by scheduler " + name);
+        });
+    new ExecutorServiceMetrics(executor, name, Tags.empty()).bindTo(meterRegistry);
+    log.info("scheduler {} runs on {} {} threads", name, threads,
+        threadFactory instanceof NamedThreadFactory ? "platform" : "virtual");
+    return Schedulers.fromExecutorService(executor, name);
+  }
+
+  @Override
+  public void destroy() throws Exception {
+    processor.dispose();
+    producer.dispose();
+    delivery.dispose();
+    if (blocking != null) {
+      blocking.dispose();
+    }
+  }
+
+  /**
+   * Creates a factory of virtual threads named after their scheduler, through reflection as they require Java 21.
+   *
+   * @param name The name of the scheduler.
+   * @return The ThreadFactory, or null if the runtime does not support virtual threads.
+   */
+  private static ThreadFactory virtualThreadFactory(final String name) {
+    try {
+      Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+      Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+      builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, name + "-", 1L);
+      return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+    } catch (ReflectiveOperationException e) {
+      log.warn("virtual threads are not supported by this runtime, scheduler {} runs on platform threads", name);
+      return null;
+    }
+  }
+
+  /**
+   * Thread factory naming the daemon threads after their scheduler.
+   */
+  private static final class NamedThreadFactory implements ThreadFactory {
+
+    private final String name;
+
+    private final AtomicInteger counter = new AtomicInteger();
+
+    private NamedThreadFactory(final String name) {
+      this.name = name;
+    }
+
+    @Override
+    public Thread newThread(final Runnable runnable) {
+      Thread thread = new Thread(runnable, name + "-" + counter.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    }
+  }
+
+}
@@ -1,28 +1,31 @@
 package com.example.token.issuer.service;
 
+import com.example.token.issuer.cache.CachedTokenResponse;
+import com.example.token.issuer.cache.TokenResponseCache;
 import com.example.token.issuer.cache.TokenResponseCacheProvider;
 import com.example.token.issuer.messaging.TokenRequestProducer;
+import com.example.token.issuer.messaging.TokenResponseWaiters;
 import com.example.token.issuer.model.TokenRequest;
-import com.example.token.issuer.model.TokenResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import java.time.Duration;
-import java.util.Map;
 import java.util.Objects;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Mono;
-import reactor.core.publisher.Sinks.Many;
 
 /**
  * Service class responsible for token issuance.
  * This class processes incoming token requests, checks if the requested token is already produced and cached,
  * if not interacts with the TokenRequestProducer to send requests for token issuance.
- * It also manages a reactive stream of token responses.
+ * It also awaits the token responses of the requests it sends.
  *
  * This service optimizes token retrieval by first checking the cache for previously issued tokens.
- * If a cached token is found, it is returned immediately, avoiding unnecessary requests.
+ * If a cached token is found, its pre-encoded JSON is returned immediately, avoiding unnecessary requests and
+ * serialization.
  * If the requested token is not cached, the service initiates a request for token issuance
- * and waits for a response from the reactive stream for a specified duration of time.
+ * and waits for its response for a specified duration of time.
  *
  * This service utilizes reactive programming to handle token issuance asynchronously.
  */
@@ -33,7 +36,7 @@ public class TokenIssuerService {
   /**
    * The token response cache storing previously issued tokens.
    */
-  public final Map<String, TokenResponse> tokenResponseCache;
+  public final TokenResponseCache tokenResponseCache;
 
   /**
    * The producer responsible for sending token request messages.
@@ -41,20 +44,27 @@ public class TokenIssuerService {
   private final TokenRequestProducer tokenRequestProducer;
 
   /**
-   * The reactive stream for token responses.
+   * The requests awaiting their token response.
    */
-  private final Many<TokenResponse> tokenResponseStream;
+  private final TokenResponseWaiters tokenResponseWaiters;
+
+  /**
+   * ObjectMapper for encoding the token responses which are not cached.
+   */
+  private final ObjectMapper objectMapper;
 
   /**
    * Constructs a TokenIssuerService with the necessary dependencies.
    */
   public TokenIssuerService(
-      @Qualifier(TokenResponseCacheProvider.TOKEN_RESPONSE_CACHE) final Map<String, TokenResponse> tokenResponseCache,
+      @Qualifier(TokenResponseCacheProvider.TOKEN_RESPONSE_CACHE) final TokenResponseCache tokenResponseCache,
       final TokenRequestProducer tokenRequestProducer,
-      final Many<TokenResponse> tokenResponseStream) {
+      final TokenResponseWaiters tokenResponseWaiters,
+      final ObjectMapper objectMapper) {
     this.tokenResponseCache = tokenResponseCache;
     this.tokenRequestProducer = tokenRequestProducer;
-    this.tokenResponseStream = tokenResponseStream;
+    this.tokenResponseWaiters = tokenResponseWaiters;
+    this.objectMapper = objectMapper;
   }
 
   /**
@@ -62,24 +72,27 @@ public class TokenIssuerService {
    * or requesting a new token through the producer.
    *
    * @param tokenRequest The incoming token request.
-   * @return A Mono containing the TokenResponse for the request.
+   * @return A Mono containing the JSON encoded TokenResponse for the request.
    */
-  public Mono<TokenResponse> process(final TokenRequest tokenRequest) {
+  public Mono<byte[]> process(final TokenRequest tokenRequest) {
 
     // Check if the requested token is cached.
-    TokenResponse tokenResponseCached = tokenResponseCache.get(tokenRequest.getUser());
+    CachedTokenResponse tokenResponseCached = tokenResponseCache.get(tokenRequest.getUser());
     if (Objects.nonNull(tokenResponseCached)) {
-      return Mono.just(tokenResponseCached);
+      return Mono.just(tokenResponseCached.getPayload());
     }
 
-    // Create a Mono to await a token response from the reactive stream.
-    Mono<TokenResponse> tokenResponseMono = tokenResponseStream.asFlux()
-        .takeUntil(tokenResponse -> Objects.equals(tokenRequest.getCorrelationId(), tokenResponse.getCorrelationId()))
+    // Await the token response before sending the token request, and return it or throw a timeout exception.
+    return tokenResponseWaiters
+        .await(tokenRequest.getCorrelationId(), tokenRequestProducer.sendMessage(tokenRequest))
         .timeout(Duration.ofSeconds(30)) // Wait for up to 30 seconds for a token to be issued.
-        .last();
-
-    // Send the token request and return the resulting token response or throw a timeout exception.
-    return tokenRequestProducer.sendMessage(tokenRequest).then(tokenResponseMono);
+        .handle((tokenResponse, sink) -> {
+          try {
+            sink.next(objectMapper.writeValueAsBytes(tokenResponse));
+          } catch (JsonProcessingException e) {
+            sink.error(e);
+          }
+        });
   }
 
 }
\ No newline at end of file
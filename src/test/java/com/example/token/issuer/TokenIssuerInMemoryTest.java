@@ -0,0 +1,146 @@
+package com.example.token.issuer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.token.issuer.jwt.JwtIssuer;
+import com.example.token.issuer.messaging.TokenResponseWaiters;
+import com.example.token.issuer.messaging.transport.InMemoryTokenRequestTransport;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Map;
+import javax.crypto.Mac;
+import javax.management.ObjectName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT,
+    properties = {"JWT_SECRET_LOCATION=classpath:jwt/test-secret.txt", "spring.jmx.enabled=true"})
+@ActiveProfiles(InMemoryTokenRequestTransport.PROFILE)
+class TokenIssuerInMemoryTest {
+
+  @LocalServerPort
+  private int port;
+
+  @Autowired
+  private WebTestClient webTestClient;
+
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  @Autowired
+  private JwtIssuer jwtIssuer;
+
+  @Autowired
+  private TokenResponseWaiters tokenResponseWaiters;
+
+  @Test
+  void issuesASignedTokenThenServesItFromTheCache() throws Exception {
+    byte[] issued = requestToken("alice");
+    JsonNode tokenResponse = objectMapper.readTree(issued);
+    assertThat(tokenResponse.get("user").asText()).isEqualTo("alice");
+
+    String[] parts = tokenResponse.get("token").asText().split("\\.");
+    assertThat(parts).hasSize(3);
+    assertThat(objectMapper.readTree(Base64.getUrlDecoder().decode(parts[1])).get("sub").asText())
+        .isEqualTo("alice");
+    Mac mac = Mac.getInstance(jwtIssuer.getSigningKey().getAlgorithm().getJcaName());
+    mac.init(jwtIssuer.getSigningKey().getKey());
+    byte[] signature = mac.doFinal((parts[0] + "." + parts[1]).getBytes(StandardCharsets.US_ASCII));
+    assertThat(MessageDigest.isEqual(signature, Base64.getUrlDecoder().decode(parts[2]))).isTrue();
+
+    assertThat(requestToken("alice")).isEqualTo(issued);
+  }
+
+  @Test
+  void keepsTheTokenResponseWireFormat() throws Exception {
+    byte[] body = requestToken("bob");
+    JsonNode tokenResponse = objectMapper.readTree(body);
+
+    assertThat(tokenResponse.fieldNames()).toIterable()
+        .containsExactly("correlationId", "user", "token", "expiresAt");
+    assertThat(tokenResponse.get("correlationId").asText()).matches("[0-9a-f-]{36}");
+    // Epoch seconds with nanoseconds, as the WebFlux codec writes it, e.g. 1700000060.000000000
+    assertThat(new String(body, StandardCharsets.UTF_8)).containsPattern("\"expiresAt\":\\d+\\.\\d{9}}$");
+    long expiresAt = tokenResponse.get("expiresAt").asLong();
+    assertThat(expiresAt).isBetween(Instant.now().getEpochSecond(), Instant.now().plusSeconds(60).getEpochSecond());
+  }
+
+  @Test
+  void answersJsonWhateverTheAcceptHeader() {
+    webTestClient.post().uri("/token")
+        .contentType(MediaType.APPLICATION_JSON)
+        .accept(MediaType.TEXT_PLAIN)
+        .bodyValue(Map.of("user", "carol", "credential", "secret"))
+        .exchange()
+        .expectStatus().isOk()
+        .expectHeader().contentType(MediaType.APPLICATION_JSON)
+        .expectBody().jsonPath("$.token").isNotEmpty();
+  }
+
+  @Test
+  void answersConcurrentRequestsWithoutLosingResponses() {
+    WebClient client = WebClient.create("http://localhost:" + port);
+    StepVerifier.create(Flux.range(0, 200)
+            .flatMap(i -> client.post().uri("/token")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("user", "user-" + i, "credential", "secret"))
+                .retrieve()
+                .bodyToMono(JsonNode.class), 64))
+        .recordWith(ArrayList::new)
+        .expectNextCount(200)
+        .consumeRecordedWith(tokenResponses -> assertThat(tokenResponses)
+            .allMatch(tokenResponse -> tokenResponse.hasNonNull("token")))
+        .expectComplete()
+        .verify(Duration.ofSeconds(30));
+
+    assertThat(tokenResponseWaiters.size()).isZero();
+  }
+
+  @Test
+  void publishesNoSecretKey() {
+    webTestClient.get().uri("/.well-known/jwks.json")
+        .exchange()
+        .expectStatus().isOk()
+        .expectBody().json("{\"keys\":[]}");
+  }
+
+  @Test
+  void servesTheKeyRotationOverJmxOnly() throws Exception {
+    webTestClient.post().uri("/actuator/jwtkeys")
+        .exchange()
+        .expectStatus().isNotFound();
+
+    Object kid = ManagementFactory.getPlatformMBeanServer().invoke(
+        new ObjectName("org.springframework.boot:type=Endpoint,name=Jwtkeys"), "rotate", new Object[0], new String[0]);
+    assertThat(kid).isEqualTo(Map.of("kid", jwtIssuer.getSigningKey().getKeyId()));
+  }
+
+  private byte[] requestToken(final String user) {
+    return webTestClient.post().uri("/token")
+        .contentType(MediaType.APPLICATION_JSON)
+        .bodyValue(Map.of("user", user, "credential", "secret"))
+        .exchange()
+        .expectStatus().isOk()
+        .expectHeader().contentType(MediaType.APPLICATION_JSON)
+        .expectBody(byte[].class)
+        .returnResult()
+        .getResponseBody();
+  }
+
+}
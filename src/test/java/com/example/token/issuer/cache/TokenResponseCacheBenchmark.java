@@ -0,0 +1,92 @@
+package com.example.token.issuer.cache;
+
+import com.example.token.issuer.model.TokenResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.lang.management.ManagementFactory;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compares the cached token responses, JSON encoded, with TokenResponse objects serialized on each hit:
+ * retained heap per entry and time per cache hit, including the encoding of the HTTP response.
+ * Run with: ./mvnw test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.example.token.issuer.cache.TokenResponseCacheBenchmark
+ * optionally passing -Dexec.args="entries hits".
+ */
+public final class TokenResponseCacheBenchmark {
+
+  private static final String TOKEN = "eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCIsImtpZCI6IkFBQUFBQUFBQUFBQUFBQUFBQUFBQUEifQ"
+      + ".eyJpc3MiOiJ0b2tlbi1pc3N1ZXIiLCJzdWIiOiJ1c2VyLTAwMDAwMCIsImlhdCI6MTcwMDAwMDAwMCwiZXhwIjoxNzAwMDAwMDYwLCJq"
+      + "dGkiOiIwMDAwMDAwMC0wMDAwLTAwMDAtMDAwMC0wMDAwMDAwMDAwMDAifQ.AAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAA";
+
+  private TokenResponseCacheBenchmark() {
+  }
+
+  public static void main(String[] args) throws Exception {
+    int entries = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+    int hits = args.length > 1 ? Integer.parseInt(args[1]) : 5_000_000;
+    ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    Instant expiresAt = Instant.now().plusSeconds(3600);
+    String[] users = new String[entries];
+    for (int i = 0; i < entries; i++) {
+      users[i] = "user-" + i;
+    }
+
+    long before = usedHeap();
+    Map<String, TokenResponse> objects = new ConcurrentHashMap<>();
+    for (int i = 0; i < entries; i++) {
+      objects.put(users[i], new TokenResponse(UUID.randomUUID(), users[i], TOKEN + i, expiresAt));
+    }
+    long objectsHeap = usedHeap() - before;
+
+    before = usedHeap();
+    TokenResponseCache cache = new TokenResponseCache();
+    for (int i = 0; i < entries; i++) {
+      TokenResponse tokenResponse = new TokenResponse(UUID.randomUUID(), users[i], TOKEN + i, expiresAt);
+      cache.put(new TokenResponseCacheUpdate(users[i], objectMapper.writeValueAsBytes(tokenResponse),
+          expiresAt.toEpochMilli()));
+    }
+    long cacheHeap = usedHeap() - before;
+
+    System.out.printf("heap per entry     objects %,6d B   encoded %,6d B%n", objectsHeap / entries,
+        cacheHeap / entries);
+
+    // Warm up both paths before measuring.
+    for (int round = 0; round < 2; round++) {
+      long sink = 0;
+      long start = System.nanoTime();
+      for (int i = 0; i < hits; i++) {
+        TokenResponse tokenResponse = objects.get(users[i % entries]);
+        if (tokenResponse.getExpiresAt().isAfter(Instant.now().plusSeconds(30))) {
+          sink += objectMapper.writeValueAsBytes(tokenResponse).length;
+        }
+      }
+      long objectsNanos = System.nanoTime() - start;
+
+      start = System.nanoTime();
+      for (int i = 0; i < hits; i++) {
+        sink += cache.get(users[i % entries]).getPayload().length;
+      }
+      long cacheNanos = System.nanoTime() - start;
+
+      if (round > 0) {
+        System.out.printf("time per hit       objects %,6d ns  encoded %,6d ns  (%d)%n", objectsNanos / hits,
+            cacheNanos / hits, sink);
+      }
+    }
+    // Keep both caches reachable until measured.
+    System.out.println(objects.size() + cache.hashCode() > 0 ? "" : "-");
+  }
+
+  private static long usedHeap() throws InterruptedException {
+    for (int i = 0; i < 3; i++) {
+      System.gc();
+      Thread.sleep(100);
+    }
+    return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+  }
+
+}
@@ -0,0 +1,70 @@
+package com.example.token.issuer.jwt;
+
+import com.example.token.issuer.model.TokenRequest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Measures the signatures per second of the JwtIssuer for each algorithm.
+ * Run with: ./mvnw test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.example.token.issuer.jwt.JwtIssuerBenchmark
+ * optionally passing -Dexec.args="threads seconds".
+ */
+public final class JwtIssuerBenchmark {
+
+  private JwtIssuerBenchmark() {
+  }
+
+  public static void main(String[] args) throws Exception {
+    int threads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+    int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+    TokenRequest tokenRequest = new TokenRequest();
+    tokenRequest.setUser("user");
+    tokenRequest.setCorrelationId(UUID.randomUUID());
+
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      for (JwtAlgorithm algorithm : JwtAlgorithm.values()) {
+        JwtIssuer jwtIssuer = new JwtIssuer("benchmark", Duration.ofSeconds(60), () -> SigningKey.generate(algorithm));
+        // Warm up the encoders before measuring.
+        run(executor, threads, 1, jwtIssuer, tokenRequest);
+        long signatures = run(executor, threads, seconds, jwtIssuer, tokenRequest);
+        System.out.printf("%-6s %,12d signatures/s (%d threads)%n", algorithm, signatures / seconds, threads);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private static long run(final ExecutorService executor, final int threads, final int seconds,
+      final JwtIssuer jwtIssuer, final TokenRequest tokenRequest) throws Exception {
+    AtomicBoolean running = new AtomicBoolean(true);
+    List<Future<Long>> futures = new ArrayList<>();
+    for (int i = 0; i < threads; i++) {
+      futures.add(executor.submit(() -> {
+        long count = 0;
+        while (running.get()) {
+          jwtIssuer.issue(tokenRequest);
+          count++;
+        }
+        return count;
+      }));
+    }
+    TimeUnit.SECONDS.sleep(seconds);
+    running.set(false);
+    long total = 0;
+    for (Future<Long> future : futures) {
+      total += future.get();
+    }
+    return total;
+  }
+
+}
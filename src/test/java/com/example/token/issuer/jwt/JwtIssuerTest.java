@@ -0,0 +1,130 @@
+package com.example.token.issuer.jwt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.token.issuer.jwt.JwtAlgorithm.Family;
+import com.example.token.issuer.model.TokenRequest;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.Signature;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Map;
+import java.util.UUID;
+import javax.crypto.Mac;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+class JwtIssuerTest {
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  @ParameterizedTest
+  @EnumSource(JwtAlgorithm.class)
+  void issuesTokensVerifiableWithTheSigningKey(final JwtAlgorithm algorithm) throws Exception {
+    SigningKey signingKey = SigningKey.generate(algorithm);
+    JwtIssuer jwtIssuer = new JwtIssuer("issuer", Duration.ofSeconds(60), () -> signingKey);
+    TokenRequest tokenRequest = tokenRequest("user \"quoted\"");
+
+    IssuedToken issuedToken = jwtIssuer.issue(tokenRequest);
+
+    String[] parts = issuedToken.getToken().split("\\.");
+    assertThat(parts).hasSize(3);
+    JsonNode header = decodeJson(parts[0]);
+    assertThat(header.get("alg").asText()).isEqualTo(algorithm.name());
+    assertThat(header.get("typ").asText()).isEqualTo("JWT");
+    assertThat(header.get("kid").asText()).isEqualTo(signingKey.getKeyId());
+    JsonNode claims = decodeJson(parts[1]);
+    assertThat(claims.get("iss").asText()).isEqualTo("issuer");
+    assertThat(claims.get("sub").asText()).isEqualTo(tokenRequest.getUser());
+    assertThat(claims.get("jti").asText()).isEqualTo(tokenRequest.getCorrelationId().toString());
+    assertThat(claims.get("exp").asLong() - claims.get("iat").asLong()).isEqualTo(60);
+    assertThat(issuedToken.getExpiresAt()).isEqualTo(Instant.ofEpochSecond(claims.get("exp").asLong()));
+
+    byte[] signingInput = (parts[0] + "." + parts[1]).getBytes(StandardCharsets.US_ASCII);
+    byte[] signature = Base64.getUrlDecoder().decode(parts[2]);
+    assertThat(verify(signingKey, signingInput, signature)).isTrue();
+    signingInput[signingInput.length - 1] ^= 1;
+    assertThat(verify(signingKey, signingInput, signature)).isFalse();
+  }
+
+  @Test
+  void rotationSignsWithTheNewKeyAndKeepsThePreviousOnePublished() throws Exception {
+    SigningKey first = SigningKey.generate(JwtAlgorithm.ES256);
+    SigningKey second = SigningKey.generate(JwtAlgorithm.ES256);
+    SigningKey[] source = {first};
+    JwtIssuer jwtIssuer = new JwtIssuer("issuer", Duration.ofSeconds(60), () -> source[0]);
+    assertThat(jwtIssuer.getPublishedKeys()).extracting(jwk -> jwk.get("kid")).containsExactly(first.getKeyId());
+
+    source[0] = second;
+    assertThat(jwtIssuer.rotate()).isSameAs(second);
+
+    String token = jwtIssuer.issue(tokenRequest("user")).getToken();
+    assertThat(decodeJson(token.substring(0, token.indexOf('.'))).get("kid").asText()).isEqualTo(second.getKeyId());
+    assertThat(jwtIssuer.getPublishedKeys()).extracting(jwk -> jwk.get("kid"))
+        .containsExactly(second.getKeyId(), first.getKeyId());
+  }
+
+  @Test
+  void reloadingTheCurrentKeyKeepsThePreviousOnePublished() {
+    SigningKey first = SigningKey.generate(JwtAlgorithm.ES256);
+    SigningKey second = SigningKey.generate(JwtAlgorithm.ES256);
+    SigningKey[] source = {first};
+    JwtIssuer jwtIssuer = new JwtIssuer("issuer", Duration.ofSeconds(60), () -> source[0]);
+    source[0] = second;
+    jwtIssuer.rotate();
+
+    assertThat(jwtIssuer.rotate()).isSameAs(second);
+    assertThat(jwtIssuer.getPublishedKeys()).extracting(jwk -> jwk.get("kid"))
+        .containsExactly(second.getKeyId(), first.getKeyId());
+  }
+
+  @Test
+  void hmacKeysAreNotPublished() {
+    JwtIssuer jwtIssuer = new JwtIssuer("issuer", Duration.ofSeconds(60),
+        () -> SigningKey.generate(JwtAlgorithm.HS256));
+
+    assertThat(jwtIssuer.getPublishedKeys()).isEmpty();
+  }
+
+  @Test
+  void publishesTheCoordinatesOfEcKeys() {
+    SigningKey signingKey = SigningKey.generate(JwtAlgorithm.ES512);
+
+    Map<String, Object> jwk = signingKey.toJwk();
+
+    assertThat(jwk).containsEntry("kty", "EC").containsEntry("crv", "P-521").containsEntry("alg", "ES512");
+    assertThat(Base64.getUrlDecoder().decode((String) jwk.get("x"))).hasSize(66);
+    assertThat(Base64.getUrlDecoder().decode((String) jwk.get("y"))).hasSize(66);
+  }
+
+  private static boolean verify(final SigningKey signingKey, final byte[] signingInput, final byte[] signature)
+      throws Exception {
+    JwtAlgorithm algorithm = signingKey.getAlgorithm();
+    if (algorithm.getFamily() == Family.HMAC) {
+      Mac mac = Mac.getInstance(algorithm.getJcaName());
+      mac.init(signingKey.getKey());
+      return MessageDigest.isEqual(mac.doFinal(signingInput), signature);
+    }
+    Signature verifier = Signature.getInstance(algorithm.getJcaName());
+    verifier.initVerify(signingKey.getPublicKey());
+    verifier.update(signingInput);
+    return verifier.verify(signature);
+  }
+
+  private JsonNode decodeJson(final String part) throws Exception {
+    return objectMapper.readTree(Base64.getUrlDecoder().decode(part));
+  }
+
+  private static TokenRequest tokenRequest(final String user) {
+    TokenRequest tokenRequest = new TokenRequest();
+    tokenRequest.setUser(user);
+    tokenRequest.setCorrelationId(UUID.randomUUID());
+    return tokenRequest;
+  }
+
+}
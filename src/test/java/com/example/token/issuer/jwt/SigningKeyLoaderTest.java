@@ -0,0 +1,87 @@
+package com.example.token.issuer.jwt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.util.Base64;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+
+class SigningKeyLoaderTest {
+
+  @TempDir
+  private Path directory;
+
+  @Test
+  void loadsBase64Secrets() {
+    SigningKey signingKey = loader(JwtAlgorithm.HS256, "classpath:jwt/test-secret.txt", "", "").load();
+
+    assertThat(signingKey.getAlgorithm()).isEqualTo(JwtAlgorithm.HS256);
+  }
+
+  @Test
+  void rejectsSecretsShorterThanTheHash() throws Exception {
+    Path secret = Files.writeString(directory.resolve("secret.txt"),
+        Base64.getEncoder().encodeToString(new byte[48]));
+
+    SigningKeyLoader loader = loader(JwtAlgorithm.HS512, secret.toUri().toString(), "", "");
+
+    assertThatThrownBy(loader::load).isInstanceOf(IllegalStateException.class).hasMessageContaining("512 bits");
+  }
+
+  @Test
+  void requiresTheKeyLocations() {
+    assertThatThrownBy(loader(JwtAlgorithm.HS256, "", "", "")::load)
+        .isInstanceOf(IllegalStateException.class).hasMessageContaining("JWT_SECRET_LOCATION");
+    assertThatThrownBy(loader(JwtAlgorithm.RS256, "", "", "")::load)
+        .isInstanceOf(IllegalStateException.class).hasMessageContaining("JWT_PUBLIC_KEY_LOCATION");
+  }
+
+  @Test
+  void loadsPemKeyPairs() throws Exception {
+    KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+    generator.initialize(2048);
+    KeyPair keyPair = generator.generateKeyPair();
+    Path privateKey = writePem("private.pem", "PRIVATE KEY", keyPair.getPrivate().getEncoded());
+    Path publicKey = writePem("public.pem", "PUBLIC KEY", keyPair.getPublic().getEncoded());
+
+    SigningKey signingKey = loader(JwtAlgorithm.RS256, "", privateKey.toUri().toString(),
+        publicKey.toUri().toString()).load();
+
+    assertThat(signingKey.getPublicKey()).isEqualTo(keyPair.getPublic());
+    assertThat(signingKey.getKeyId()).isEqualTo(SigningKey.keyPair(JwtAlgorithm.RS256, keyPair).getKeyId());
+  }
+
+  @Test
+  void rejectsMismatchedKeyPairs() throws Exception {
+    KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+    generator.initialize(2048);
+    Path privateKey = writePem("private.pem", "PRIVATE KEY", generator.generateKeyPair().getPrivate().getEncoded());
+    Path publicKey = writePem("public.pem", "PUBLIC KEY", generator.generateKeyPair().getPublic().getEncoded());
+
+    SigningKeyLoader loader = loader(JwtAlgorithm.RS256, "", privateKey.toUri().toString(),
+        publicKey.toUri().toString());
+
+    assertThatThrownBy(loader::load).isInstanceOf(IllegalStateException.class).hasMessageContaining("does not match");
+  }
+
+  private Path writePem(final String name, final String type, final byte[] encoded) throws Exception {
+    String pem = "-----BEGIN " + type + "-----\n"
+        + Base64.getMimeEncoder(64, "\n".getBytes(StandardCharsets.US_ASCII)).encodeToString(encoded)
+        + "\n-----END " + type + "-----\n";
+    return Files.writeString(directory.resolve(name), pem);
+  }
+
+  private static SigningKeyLoader loader(final JwtAlgorithm algorithm, final String secretLocation,
+      final String privateKeyLocation, final String publicKeyLocation) {
+    return new SigningKeyLoader(algorithm, secretLocation, privateKeyLocation, publicKeyLocation,
+        new DefaultResourceLoader());
+  }
+
+}
@@ -0,0 +1,85 @@
+package com.example.token.issuer.limiter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+import reactor.test.publisher.TestPublisher;
+
+class AdaptiveConcurrencyLimiterTest {
+
+  private final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(3, 1, 10,
+      new SimpleMeterRegistry());
+
+  private final List<Sinks.Empty<Void>> issuances = new ArrayList<>();
+
+  @Test
+  void requestsNoMoreThanTheLimitAllowsInFlight() {
+    TestPublisher<Integer> source = TestPublisher.create();
+    BaseSubscriber<Integer> subscriber = limiter.subscriber(this::issue);
+
+    source.flux().subscribeWith(subscriber);
+    source.assertMinRequested(3).assertMaxRequested(3);
+
+    source.next(1, 2, 3);
+    assertThat(limiter.getInFlight()).isEqualTo(3);
+    source.assertMaxRequested(0);
+
+    issuances.get(0).tryEmitEmpty();
+    assertThat(limiter.getInFlight()).isEqualTo(2);
+    source.assertMinRequested(1);
+
+    subscriber.dispose();
+    source.assertCancelled();
+  }
+
+  @Test
+  void backsOffOnFailuresWithoutTerminating() {
+    TestPublisher<Integer> source = TestPublisher.create();
+    BaseSubscriber<Integer> subscriber = limiter.subscriber(value -> value < 0
+        ? Mono.error(new IllegalStateException("failed"))
+        : issue(value));
+
+    source.flux().subscribeWith(subscriber);
+    source.next(-1);
+
+    assertThat(limiter.getLimit()).isEqualTo(2);
+    assertThat(limiter.getInFlight()).isZero();
+    assertThat(subscriber.isDisposed()).isFalse();
+    source.assertMinRequested(2);
+  }
+
+  @Test
+  void pacesAFiniteSourceToTheLimit() {
+    List<Long> requests = new ArrayList<>();
+    AtomicInteger maxInFlight = new AtomicInteger();
+    Sinks.Empty<Void> consumed = Sinks.empty();
+
+    Flux.range(0, 100)
+        .doOnRequest(requests::add)
+        .doOnComplete(consumed::tryEmitEmpty)
+        .subscribeWith(limiter.subscriber(value -> Mono.delay(Duration.ofMillis(1))
+            .doOnSubscribe(subscription -> maxInFlight.accumulateAndGet(limiter.getInFlight(), Math::max))));
+
+    StepVerifier.create(consumed.asMono()).expectComplete().verify(Duration.ofSeconds(10));
+    assertThat(requests).allSatisfy(requested -> assertThat(requested).isBetween(1L, 10L));
+    assertThat(requests.stream().mapToLong(Long::longValue).sum()).isGreaterThanOrEqualTo(100);
+    assertThat(maxInFlight.get()).isLessThanOrEqualTo(10);
+  }
+
+  private Mono<Void> issue(final Integer value) {
+    Sinks.Empty<Void> issuance = Sinks.empty();
+    issuances.add(issuance);
+    return issuance.asMono();
+  }
+
+}
@@ -0,0 +1,73 @@
+package com.example.token.issuer.scheduler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+class SchedulerRegistryTest {
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  private final SchedulerRegistry schedulerRegistry = new SchedulerRegistry(1, 1, 2, true, 1, meterRegistry);
+
+  @AfterEach
+  void destroy() throws Exception {
+    schedulerRegistry.destroy();
+  }
+
+  @Test
+  void createsTheBlockingSchedulerOnFirstUse() {
+    assertThat(meterRegistry.find("executor.rejected").tag("name", SchedulerRegistry.BLOCKING).counter()).isNull();
+
+    assertThat(schedulerRegistry.blocking()).isSameAs(schedulerRegistry.blocking());
+    assertThat(meterRegistry.find("executor.rejected").tag("name", SchedulerRegistry.BLOCKING).counter()).isNotNull();
+  }
+
+  @Test
+  void runsBlockingStagesOnAnInstrumentedBoundedPool() {
+    StepVerifier.create(Mono.fromCallable(() -> Thread.currentThread().getName())
+            .subscribeOn(schedulerRegistry.blocking()))
+        .assertNext(threadName -> assertThat(threadName).startsWith(SchedulerRegistry.BLOCKING + "-"))
+        .expectComplete()
+        .verify(Duration.ofSeconds(5));
+
+    assertThat(meterRegistry.find("executor.completed").tag("name", SchedulerRegistry.BLOCKING).functionCounter())
+        .isNotNull();
+    assertThat(meterRegistry.find("executor.active").tag("name", SchedulerRegistry.BLOCKING).gauge()).isNotNull();
+    assertThat(meterRegistry.find("executor.queued").tag("name", SchedulerRegistry.BLOCKING).gauge()).isNotNull();
+  }
+
+  @Test
+  void countsTheTasksRejectedOnceThePoolAndItsQueueAreFull() throws Exception {
+    CountDownLatch started = new CountDownLatch(2);
+    CountDownLatch release = new CountDownLatch(1);
+    Mono<Void> blocked = Mono.<Void>fromRunnable(() -> {
+      started.countDown();
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }).subscribeOn(schedulerRegistry.blocking());
+    // Two running tasks and a queued one.
+    blocked.subscribe();
+    blocked.subscribe();
+    assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+    blocked.subscribe();
+
+    StepVerifier.create(Mono.just(1).subscribeOn(schedulerRegistry.blocking()))
+        .expectError()
+        .verify(Duration.ofSeconds(5));
+    assertThat(meterRegistry.get("executor.rejected").tag("name", SchedulerRegistry.BLOCKING).counter().count())
+        .isEqualTo(1);
+    release.countDown();
+  }
+
+}